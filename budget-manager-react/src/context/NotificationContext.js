@@ -1,5 +1,13 @@
-import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
-import { getNotifications, markNotificationAsRead } from '../services/apiService';
+import React, { createContext, useContext, useState, useEffect, useCallback, useRef } from 'react';
+import {
+    getNotificationPage,
+    getUnreadNotificationCount,
+    markAllNotificationsAsRead,
+    markNotificationAsRead
+} from '../services/apiService';
+
+// Notifications shown in the dropdown; older ones stay available through the paged API
+const PAGE_SIZE = 20;
 
 // 1. Create the context
 const NotificationContext = createContext();
@@ -12,13 +20,15 @@ export const useNotifications = () => {
 // 3. Create the Provider component
 export const NotificationProvider = ({ children }) => {
     const [notifications, setNotifications] = useState([]);
+    const [unreadCount, setUnreadCount] = useState(0);
     const [isLoading, setIsLoading] = useState(true);
+    const lastUnreadCount = useRef(null);
 
-    // A stable function to fetch notifications from the API
+    // A stable function to fetch the newest page of notifications from the API
     const fetchNotifications = useCallback(async () => {
         try {
-            const response = await getNotifications();
-            setNotifications(response.data);
+            const response = await getNotificationPage(null, PAGE_SIZE);
+            setNotifications(response.data.items);
         } catch (error) {
             console.error('Failed to fetch notifications', error);
         } finally {
@@ -26,26 +36,44 @@ export const NotificationProvider = ({ children }) => {
         }
     }, []);
 
+    // Polling only reads the unread counter; the list is reloaded when the counter changes
+    const fetchUnreadCount = useCallback(async () => {
+        try {
+            const response = await getUnreadNotificationCount();
+            if (response.data.unread !== lastUnreadCount.current) {
+                lastUnreadCount.current = response.data.unread;
+                setUnreadCount(response.data.unread);
+                fetchNotifications();
+            }
+        } catch (error) {
+            console.error('Failed to fetch unread notification count', error);
+        }
+    }, [fetchNotifications]);
+
     // Effect for initial fetch AND periodic polling
     useEffect(() => {
-        // Fetch immediately when the component mounts
-        fetchNotifications();
+        // Fetch immediately when the component mounts; the first count also loads the list
+        fetchUnreadCount();
 
-        // Set up polling to fetch notifications every 30 seconds
-        const intervalId = setInterval(fetchNotifications, 30000);
+        // Set up polling of the unread counter every 30 seconds
+        const intervalId = setInterval(fetchUnreadCount, 30000);
 
         // Cleanup function: This is crucial to prevent memory leaks.
         // It runs when the component unmounts.
         return () => clearInterval(intervalId);
-    }, [fetchNotifications]);
+    }, [fetchNotifications, fetchUnreadCount]);
 
     // Function to mark a notification as read
     const markAsRead = async (id) => {
+        const notification = notifications.find(n => n.id === id);
+        if (!notification || notification.isRead) return;
         try {
             // Optimistic UI Update: Immediately update the state for a snappy user experience
             setNotifications(prevNotifications =>
                 prevNotifications.map(n => n.id === id ? { ...n, isRead: true } : n)
             );
+            lastUnreadCount.current = Math.max(unreadCount - 1, 0);
+            setUnreadCount(lastUnreadCount.current);
             // Then, make the API call in the background
             await markNotificationAsRead(id);
         } catch (error) {
@@ -54,12 +82,26 @@ export const NotificationProvider = ({ children }) => {
         }
     };
 
+    // Marks everything up to the newest loaded notification in one request
+    const markAllAsRead = async () => {
+        if (notifications.length === 0) return;
+        try {
+            setNotifications(prevNotifications => prevNotifications.map(n => ({ ...n, isRead: true })));
+            const response = await markAllNotificationsAsRead(notifications[0].id);
+            lastUnreadCount.current = response.data.unread;
+            setUnreadCount(response.data.unread);
+        } catch (error) {
+            console.error('Failed to mark notifications as read', error);
+        }
+    };
+
     // The value that will be provided to all consuming components
     const value = {
         notifications,
-        unreadCount: notifications.filter(n => !n.isRead).length,
+        unreadCount,
         isLoading,
         markAsRead,
+        markAllAsRead,
     };
 
     return (
@@ -8,7 +8,7 @@ import {useNotifications} from '../../context/NotificationContext';
 // This component displays the main site navigation and the logout button.
 const NavigationBar = ({onLogout}) => {
     // Get the notification data and functions from our global context
-    const {notifications, unreadCount, markAsRead} = useNotifications();
+    const {notifications, unreadCount, markAsRead, markAllAsRead} = useNotifications();
 
     // State to manage the pop-up menu
     const [anchorEl, setAnchorEl] = useState(null);
@@ -22,6 +22,11 @@ const NavigationBar = ({onLogout}) => {
         setAnchorEl(null);
     };
 
+    const handleMarkAllClick = () => {
+        markAllAsRead();
+        handleMenuClose();
+    };
+
     const handleNotificationClick = (id) => {
         markAsRead(id);
         // You could also add navigation here, e.g., navigate to the budgets page
@@ -54,6 +59,9 @@ const NavigationBar = ({onLogout}) => {
                     open={open}
                     onClose={handleMenuClose}
                 >
+                    {unreadCount > 0 && (
+                        <MenuItem onClick={handleMarkAllClick} divider>Mark all as read</MenuItem>
+                    )}
                     {notifications.length > 0 ? (
                         notifications.map(n => (
                             <MenuItem
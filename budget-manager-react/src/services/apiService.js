@@ -45,10 +45,18 @@ export const setBudget = (budgetData) => apiClient.post('/budgets', budgetData);
 
 // --- NOTIFICATION APIS ---
 export const getNotifications = () => apiClient.get('/notifications');
+export const getNotificationPage = (cursor, size) => apiClient.get('/notifications/page', {params: {cursor, size}});
+export const getUnreadNotificationCount = () => apiClient.get('/notifications/unread-count');
 export const markNotificationAsRead = (id) => apiClient.post(`/notifications/${id}/mark-as-read`);
+// upToId limits the update to notifications the user has actually seen
+export const markAllNotificationsAsRead = (upToId) => apiClient.post('/notifications/mark-all-read', null, {params: {upToId}});
 
 // --- DASHBOARD API ---
 export const getDashboardSummary = (year, month) => apiClient.get('/transactions/dashboard', {params: {year, month}});
 
+// --- ANALYTICS API ---
+// from/to as 'YYYY-MM'; one request returns every month of the range
+export const getTrends = (from, to, window) => apiClient.get('/analytics/trends', {params: {from, to, window}});
+
 
 export default apiClient;
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.budgetmanager.api.transaction;
+
+import com.example.budgetmanager.domain.budget.BudgetView;
+import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.rollup.CategoryTotalView;
+import com.example.budgetmanager.domain.transaction.TransactionView;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Java side of {@code TransactionService.getDashboardSummary} for one month.
+ * {@code inMemory} is the IN_MEMORY mode: every transaction of the month is summed per category in
+ * cents; {@code legacyInMemoryBigDecimal} reproduces the previous BigDecimal merge per transaction.
+ * {@code fromCategoryTotals} is what ROLLUP and AGGREGATE leave to Java once the database has
+ * returned one row per category, so its cost does not depend on the number of transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DashboardSummaryBenchmark {
+
+    private static final int CATEGORIES = 20;
+    private static final int INCOME_CATEGORIES = 2;
+    private static final LocalDate MONTH = LocalDate.of(2025, 6, 1);
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private List<TransactionView> monthTransactions;
+    private List<CategoryTotalView> categoryTotals;
+    private List<BudgetView> budgets;
+
+    @Setup
+    public void setUp() {
+        // Fixed seed so every run sums the same data
+        Random random = new Random(42);
+        monthTransactions = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            long categoryId = random.nextInt(CATEGORIES) + 1;
+            monthTransactions.add(new TransactionView((long) i, categoryId, "Category " + categoryId, type(categoryId),
+                    BigDecimal.valueOf(random.nextInt(100_000) + 1, 2), null, MONTH.plusDays(random.nextInt(30))));
+        }
+        categoryTotals = TransactionService.totalsByCategory(monthTransactions);
+
+        budgets = new ArrayList<>();
+        for (long categoryId = INCOME_CATEGORIES + 1; categoryId <= CATEGORIES; categoryId++) {
+            budgets.add(new BudgetView(categoryId, categoryId, "Category " + categoryId, BigDecimal.valueOf(50_000), MONTH));
+        }
+    }
+
+    @Benchmark
+    public DashboardDto inMemory() {
+        List<CategoryTotalView> totals = TransactionService.totalsByCategory(monthTransactions);
+        return TransactionService.summarize(totals, TransactionService.budgetStatus(budgets, totals));
+    }
+
+    @Benchmark
+    public DashboardDto legacyInMemoryBigDecimal() {
+        Map<Long, CategoryTotalView> byCategory = new LinkedHashMap<>();
+        for (TransactionView t : monthTransactions) {
+            byCategory.merge(t.categoryId(),
+                    new CategoryTotalView(t.categoryId(), t.categoryName(), t.categoryType(), t.amount(), 1),
+                    (a, b) -> new CategoryTotalView(a.categoryId(), a.categoryName(), a.categoryType(), a.total().add(b.total()), a.txCount() + 1));
+        }
+        List<CategoryTotalView> totals = List.copyOf(byCategory.values());
+        return TransactionService.summarize(totals, TransactionService.budgetStatus(budgets, totals));
+    }
+
+    @Benchmark
+    public DashboardDto fromCategoryTotals() {
+        return TransactionService.summarize(categoryTotals, TransactionService.budgetStatus(budgets, categoryTotals));
+    }
+
+    private static CategoryType type(long categoryId) {
+        return categoryId <= INCOME_CATEGORIES ? CategoryType.INCOME : CategoryType.EXPENSE;
+    }
+}
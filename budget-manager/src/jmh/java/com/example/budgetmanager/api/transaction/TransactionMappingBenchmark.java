@@ -0,0 +1,61 @@
+package com.example.budgetmanager.api.transaction;
+
+import com.example.budgetmanager.domain.category.Category;
+import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.transaction.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done by {@code TransactionService.toDto}, per transaction. Reads
+ * project straight into DTOs; this is the cost the entity path adds on top of loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<Transaction> entities;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Category category = new Category();
+            category.setId(id);
+            category.setName("Category " + id);
+            category.setType(id == 1 ? CategoryType.INCOME : CategoryType.EXPENSE);
+            categories.add(category);
+        }
+        entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setCategory(categories.get(i % categories.size()));
+            transaction.setAmount(BigDecimal.valueOf(1000 + i, 2));
+            transaction.setDescription("Transaction " + i);
+            transaction.setTransactionDate(LocalDate.of(2025, 6, 1 + i % 30));
+            entities.add(transaction);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<TransactionDto> toDto() {
+        List<TransactionDto> dtos = new ArrayList<>(entities.size());
+        for (Transaction transaction : entities) {
+            dtos.add(TransactionService.toDto(transaction));
+        }
+        return dtos;
+    }
+}
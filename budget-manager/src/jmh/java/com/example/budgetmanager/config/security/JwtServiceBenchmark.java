@@ -0,0 +1,67 @@
+package com.example.budgetmanager.config.security;
+
+import com.example.budgetmanager.domain.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation as done per request by JwtAuthenticationFilter.
+ * {@code legacyTripleParse} reproduces the previous code path: the key is decoded and a parser
+ * is built for each of the three verifications (username, isTokenValid, expiration).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "a2d8a5e8e2b8f8d2a3e8b8d2a3e8b8d2a3e8b8d2a3e8b8d2a3e8b8d2a3e8b8d2";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = new JwtService(SECRET, EXPIRATION, 10_000);
+        uncachedService = new JwtService(SECRET, EXPIRATION, 0);
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        user.setFullName("Bench User");
+        token = cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        boolean subjectMatches = username.equals(legacyClaims(token).getSubject());
+        return subjectMatches && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Object singlePassUncached() {
+        return uncachedService.validate(token);
+    }
+
+    @Benchmark
+    public Object singlePassCached() {
+        return cachedService.validate(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
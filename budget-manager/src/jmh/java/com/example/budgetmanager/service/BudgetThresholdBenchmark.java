@@ -0,0 +1,66 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.domain.budget.BudgetSpendView;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-budget threshold check of the budget check, run for every row the check query returns.
+ * {@code legacyBigDecimalPercentage} reproduces the previous code path: divide, multiply and
+ * compare the percentage as a double.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetThresholdBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private BudgetSpendView[] rows;
+
+    @Setup
+    public void setUp() {
+        // Spend between 0% and 150% of the budget, fixed seed
+        Random random = new Random(42);
+        rows = new BudgetSpendView[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            long budgeted = 10_000 + random.nextInt(90_000);
+            long spent = (long) (budgeted * random.nextDouble() * 1.5);
+            rows[i] = new BudgetSpendView((long) i, 1L, (long) i, "Category " + i,
+                    BigDecimal.valueOf(budgeted, 2), BigDecimal.valueOf(spent, 2));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int legacyBigDecimalPercentage() {
+        int crossed = 0;
+        for (BudgetSpendView row : rows) {
+            BigDecimal percentage = row.spent().divide(row.budgeted(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+            for (int threshold : BudgetThresholdNotifier.THRESHOLDS) {
+                if (percentage.doubleValue() >= threshold) {
+                    crossed += threshold;
+                    break;
+                }
+            }
+        }
+        return crossed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int exactCents() {
+        int crossed = 0;
+        for (BudgetSpendView row : rows) {
+            crossed += BudgetThresholdNotifier.highestCrossedThreshold(row);
+        }
+        return crossed;
+    }
+}
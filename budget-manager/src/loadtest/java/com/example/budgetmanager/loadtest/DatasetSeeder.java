@@ -0,0 +1,426 @@
+package com.example.budgetmanager.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a synthetic dataset straight into PostgreSQL: users that can log in with a shared password,
+ * a fixed set of categories each, budgets for the current month, and transactions spread over the
+ * last months. Transactions go through {@code COPY ... FROM STDIN} on several connections, and the
+ * monthly rollup is rebuilt for the seeded users at the end. Pending migrations are applied first,
+ * the same way the application does on startup, so an empty database can be seeded.
+ * <p>
+ * Seeding again with the same email prefix reuses the users and categories and adds transactions.
+ * Running backends are told on the cache invalidation channel to drop their caches afterwards.
+ */
+final class DatasetSeeder {
+
+    private static final int ROWS_PER_COPY = 1_000_000;
+    private static final int ID_INCREMENT = 50;
+    private static final String COPY_SQL =
+            "COPY transactions (id, user_id, category_id, amount, description, transaction_date, created_at) FROM STDIN";
+
+    /**
+     * A category with its amount distribution: log-normal around the median, and a weight for how
+     * often it appears among the day-to-day transactions. Recurring ones are booked once a month.
+     */
+    private record CategorySpec(String name, String type, double medianAmount, double sigma, int weight, int recurringDay,
+                                String[] descriptions) {
+    }
+
+    private static final List<CategorySpec> CATEGORIES = List.of(
+            new CategorySpec("Salary", "INCOME", 3200, 0.05, 0, 25, new String[]{"Monthly salary"}),
+            new CategorySpec("Freelance", "INCOME", 400, 0.8, 2, 0, new String[]{"Invoice payment", "Consulting"}),
+            new CategorySpec("Rent", "EXPENSE", 1100, 0.0, 0, 1, new String[]{"Rent"}),
+            new CategorySpec("Groceries", "EXPENSE", 35, 0.6, 30, 0, new String[]{"Supermarket", "Bakery", "Farmers market", null}),
+            new CategorySpec("Dining", "EXPENSE", 22, 0.7, 18, 0, new String[]{"Lunch", "Dinner out", "Coffee", null}),
+            new CategorySpec("Transport", "EXPENSE", 12, 0.9, 20, 0, new String[]{"Bus ticket", "Fuel", "Taxi", null}),
+            new CategorySpec("Utilities", "EXPENSE", 60, 0.4, 4, 0, new String[]{"Electricity", "Internet", "Phone"}),
+            new CategorySpec("Entertainment", "EXPENSE", 25, 0.9, 10, 0, new String[]{"Cinema", "Streaming", "Concert", null}),
+            new CategorySpec("Shopping", "EXPENSE", 45, 1.0, 12, 0, new String[]{"Clothes", "Electronics", "Books", null}),
+            new CategorySpec("Health", "EXPENSE", 30, 0.8, 4, 0, new String[]{"Pharmacy", "Doctor", null})
+    );
+
+    private static final int TOTAL_WEIGHT = CATEGORIES.stream().mapToInt(CategorySpec::weight).sum();
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final String emailPrefix;
+    private final String password;
+    private final int users;
+    private final int transactionsPerUser;
+    private final int months;
+    private final int workers;
+    private final long randomSeed;
+    private final String invalidationChannel;
+    private final Random random;
+
+    DatasetSeeder(LoadTest.Options options) {
+        this.jdbcUrl = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/budgetdb");
+        this.dbUser = options.get("db-user", "admin");
+        this.dbPassword = options.get("db-password", "supersecret");
+        this.emailPrefix = options.get("email-prefix", "loadtest");
+        this.password = options.get("password", "loadtest-password");
+        this.users = options.getInt("users", 100);
+        this.transactionsPerUser = options.getInt("transactions-per-user", 10_000);
+        this.months = options.getInt("months", 24);
+        this.workers = options.getInt("seed-workers", Math.min(4, Runtime.getRuntime().availableProcessors()));
+        this.randomSeed = options.getLong("random-seed", 42);
+        this.invalidationChannel = options.get("invalidation-channel", "cache_invalidation");
+        this.random = new Random(randomSeed);
+    }
+
+    void seed() throws Exception {
+        long startNanos = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        YearMonth firstMonth = YearMonth.from(today).minusMonths(months - 1L);
+
+        Flyway.configure()
+                .dataSource(jdbcUrl, dbUser, dbPassword)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            List<Long> userIds = upsertUsers(connection);
+            Map<Long, long[]> categoryIds = upsertCategories(connection, userIds);
+            int budgets = insertBudgets(connection, userIds, categoryIds, YearMonth.from(today));
+            log("Seeded %d users, %d categories and %d budgets.", userIds.size(), userIds.size() * CATEGORIES.size(), budgets);
+
+            createPartitions(connection, firstMonth, YearMonth.from(today));
+            long copyStart = System.nanoTime();
+            long rows = copyTransactions(connection, userIds, categoryIds, firstMonth.atDay(1), today);
+            double copySeconds = (System.nanoTime() - copyStart) / 1_000_000_000.0;
+            log("Copied %d transactions in %.1f s (%.0f rows/s).", rows, copySeconds, rows / Math.max(copySeconds, 1e-9));
+
+            int rollupRows = rebuildRollup(connection, userIds, firstMonth.atDay(1), today.plusDays(1));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE transactions");
+                statement.execute("ANALYZE monthly_category_totals");
+            }
+            // A flush of everything in the backends' message format, from a node of its own
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, invalidationChannel);
+                statement.setString(2, "seeder-" + UUID.randomUUID() + " 1\nF");
+                statement.execute();
+            }
+            log("Rebuilt %d rollup rows. Done in %.1f s.", rollupRows, (System.nanoTime() - startNanos) / 1_000_000_000.0);
+        }
+    }
+
+    private List<Long> upsertUsers(Connection connection) throws SQLException {
+        // One hash for everyone: BCrypt is deliberately slow and every user shares the password
+        String passwordHash = new BCryptPasswordEncoder().encode(password);
+        Timestamp now = Timestamp.from(Instant.now());
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO users (full_name, email, password_hash, created_at)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (email) DO NOTHING
+                """)) {
+            for (int i = 1; i <= users; i++) {
+                insert.setString(1, "Load Test " + i);
+                insert.setString(2, LoadTest.email(emailPrefix, i));
+                insert.setString(3, passwordHash);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        List<Long> ids = new ArrayList<>(users);
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM users WHERE email = ?")) {
+            for (int i = 1; i <= users; i++) {
+                select.setString(1, LoadTest.email(emailPrefix, i));
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Category ids per user, in the order of CATEGORIES
+    private Map<Long, long[]> upsertCategories(Connection connection, List<Long> userIds) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO categories (name, type, user_id) VALUES (?, ?, ?)
+                ON CONFLICT (user_id, name) DO NOTHING
+                """)) {
+            for (Long userId : userIds) {
+                for (CategorySpec spec : CATEGORIES) {
+                    insert.setString(1, spec.name());
+                    insert.setString(2, spec.type());
+                    insert.setLong(3, userId);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            positions.put(CATEGORIES.get(i).name(), i);
+        }
+        Map<Long, long[]> ids = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT user_id, name, id FROM categories WHERE user_id = ANY (?)")) {
+            select.setArray(1, userIdArray(connection, userIds));
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    Integer position = positions.get(rs.getString(2));
+                    if (position == null) continue;
+                    ids.computeIfAbsent(rs.getLong(1), id -> new long[CATEGORIES.size()])[position] = rs.getLong(3);
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Budgets sit around the expected monthly spend, so some users cross the notification thresholds
+    private int insertBudgets(Connection connection, List<Long> userIds, Map<Long, long[]> categoryIds, YearMonth month) throws SQLException {
+        double monthlyTransactions = (double) transactionsPerUser / months;
+        int inserted = 0;
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO budgets (user_id, category_id, amount, month) VALUES (?, ?, ?, ?)
+                ON CONFLICT (user_id, category_id, month) DO NOTHING
+                """)) {
+            for (Long userId : userIds) {
+                long[] ids = categoryIds.get(userId);
+                for (int i = 0; i < CATEGORIES.size(); i++) {
+                    CategorySpec spec = CATEGORIES.get(i);
+                    if (!spec.type().equals("EXPENSE")) continue;
+                    double expected = spec.recurringDay() > 0
+                            ? spec.medianAmount()
+                            : monthlyTransactions * spec.weight() / TOTAL_WEIGHT * spec.medianAmount();
+                    double amount = Math.min(Math.max(expected * (0.8 + random.nextDouble() * 0.5), 10), 99_999_999);
+                    insert.setLong(1, userId);
+                    insert.setLong(2, ids[i]);
+                    insert.setBigDecimal(3, BigDecimal.valueOf(Math.round(amount * 100), 2));
+                    insert.setDate(4, Date.valueOf(month.atDay(1)));
+                    insert.addBatch();
+                    inserted++;
+                }
+            }
+            insert.executeBatch();
+        }
+        return inserted;
+    }
+
+    private void createPartitions(Connection connection, YearMonth from, YearMonth to) throws SQLException {
+        try (PreparedStatement ensure = connection.prepareStatement("SELECT ensure_transaction_partition(?)")) {
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                ensure.setDate(1, Date.valueOf(month.atDay(1)));
+                ensure.executeQuery().close();
+            }
+        }
+    }
+
+    /**
+     * Copies every user's transactions, split over {@code seed-workers} connections that each run
+     * their own COPY. A user's rows are generated from a per-user seed and written in date order,
+     * like real data arrives, so the result does not depend on the worker count and index inserts
+     * stay local.
+     */
+    private long copyTransactions(Connection connection, List<Long> userIds, Map<Long, long[]> categoryIds,
+                                  LocalDate from, LocalDate to) throws Exception {
+        TransactionIds transactionIds = reserveTransactionIds(connection, (long) userIds.size() * transactionsPerUser);
+        int workerCount = Math.max(1, Math.min(workers, userIds.size()));
+        List<Future<Long>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workerCount)) {
+            for (int w = 0; w < workerCount; w++) {
+                int fromIndex = userIds.size() * w / workerCount;
+                int toIndex = userIds.size() * (w + 1) / workerCount;
+                results.add(executor.submit(() -> copyUsers(userIds, fromIndex, toIndex, categoryIds, transactionIds, from, to)));
+            }
+            long rows = 0;
+            for (Future<Long> result : results) {
+                rows += result.get();
+            }
+            return rows;
+        }
+    }
+
+    private long copyUsers(List<Long> userIds, int fromIndex, int toIndex, Map<Long, long[]> categoryIds, TransactionIds transactionIds,
+                           LocalDate from, LocalDate to) throws SQLException, IOException {
+        String createdAt = Instant.now().toString();
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        StringBuilder line = new StringBuilder(96);
+        long rows = 0;
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            Writer out = null;
+            long rowsInCopy = 0;
+            try {
+                for (int u = fromIndex; u < toIndex; u++) {
+                    if (out == null || rowsInCopy >= ROWS_PER_COPY) {
+                        if (out != null) out.close();
+                        out = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(pg, COPY_SQL, 1 << 16), StandardCharsets.UTF_8), 1 << 16);
+                        rowsInCopy = 0;
+                    }
+                    Long userId = userIds.get(u);
+                    long[] ids = categoryIds.get(userId);
+                    Random userRandom = new Random(randomSeed * 31 + u);
+                    long nextIndex = (long) u * transactionsPerUser;
+                    // Packed as day offset << 8 | category index, so sorting orders them by date
+                    for (long row : userRows(userRandom, from, to, days)) {
+                        int c = (int) (row & 0xFF);
+                        writeRow(out, line, userRandom, transactionIds.id(nextIndex++), userId, ids[c], CATEGORIES.get(c), from.plusDays(row >> 8), createdAt);
+                    }
+                    rowsInCopy += transactionsPerUser;
+                    rows += transactionsPerUser;
+                }
+            } finally {
+                if (out != null) out.close();
+            }
+        }
+        return rows;
+    }
+
+    // Recurring income and rent once a month, the rest spread over the days
+    private long[] userRows(Random random, LocalDate from, LocalDate to, int days) {
+        long[] rows = new long[transactionsPerUser];
+        int n = 0;
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to) && n < rows.length; month = month.plusMonths(1)) {
+            for (int c = 0; c < CATEGORIES.size() && n < rows.length; c++) {
+                CategorySpec spec = CATEGORIES.get(c);
+                if (spec.recurringDay() == 0) continue;
+                LocalDate date = month.withDayOfMonth(Math.min(spec.recurringDay(), month.lengthOfMonth()));
+                if (date.isBefore(from) || date.isAfter(to)) continue;
+                rows[n++] = ChronoUnit.DAYS.between(from, date) << 8 | c;
+            }
+        }
+        while (n < rows.length) {
+            rows[n++] = (long) pickDay(random, from, days) << 8 | pickCategory(random);
+        }
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Reserves ids from {@code transactions_seq} without ever moving it: one nextval per 50 rows,
+     * each owning (value - 50, value] the way Hibernate's pooled optimizer does, so a backend drawing
+     * ids at the same time gets blocks of its own. Blocks drawn concurrently need not be adjacent.
+     */
+    private TransactionIds reserveTransactionIds(Connection connection, long count) throws SQLException {
+        long[] blockEnds = new long[(int) ((count + ID_INCREMENT - 1) / ID_INCREMENT)];
+        int drawn = 0;
+        while (drawn < blockEnds.length) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT nextval('transactions_seq') FROM generate_series(1, ?)")) {
+                statement.setInt(1, blockEnds.length - drawn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        long blockEnd = rs.getLong(1);
+                        // The first value of a fresh sequence owns no full block; Hibernate skips it too
+                        if (blockEnd >= ID_INCREMENT) blockEnds[drawn++] = blockEnd;
+                    }
+                }
+            }
+        }
+        return new TransactionIds(blockEnds);
+    }
+
+    private static int pickCategory(Random random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (int c = 0; c < CATEGORIES.size(); c++) {
+            pick -= CATEGORIES.get(c).weight();
+            if (pick < 0) return c;
+        }
+        throw new IllegalStateException();
+    }
+
+    // Weekends get half again as many transactions, and recent days a little more than old ones
+    private static int pickDay(Random random, LocalDate from, int days) {
+        while (true) {
+            int offset = random.nextInt(days);
+            double weight = 0.6 + 0.4 * offset / days;
+            DayOfWeek day = from.plusDays(offset).getDayOfWeek();
+            if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) weight *= 1.5;
+            if (random.nextDouble() * 1.5 < weight) return offset;
+        }
+    }
+
+    private static void writeRow(Writer out, StringBuilder line, Random random, long id, long userId, long categoryId,
+                                 CategorySpec spec, LocalDate date, String createdAt) throws IOException {
+        double amount = spec.medianAmount() * Math.exp(spec.sigma() * random.nextGaussian());
+        long cents = Math.min(Math.max(Math.round(amount * 100), 1), 99_999_999_99L);
+        String description = spec.descriptions()[random.nextInt(spec.descriptions().length)];
+
+        line.setLength(0);
+        line.append(id).append('\t')
+                .append(userId).append('\t')
+                .append(categoryId).append('\t')
+                .append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100).append('\t')
+                .append(description == null ? "\\N" : description).append('\t')
+                .append(date).append('\t')
+                .append(createdAt).append('\n');
+        out.append(line);
+    }
+
+    private int rebuildRollup(Connection connection, List<Long> userIds, LocalDate fromMonth, LocalDate toExclusive) throws SQLException {
+        try (PreparedStatement rebuild = connection.prepareStatement("""
+                INSERT INTO monthly_category_totals (user_id, category_id, month, total, tx_count)
+                SELECT t.user_id, t.category_id, CAST(date_trunc('month', t.transaction_date) AS date), SUM(t.amount), COUNT(*)
+                FROM transactions t
+                WHERE t.user_id = ANY (?) AND t.transaction_date >= ? AND t.transaction_date < ?
+                GROUP BY t.user_id, t.category_id, CAST(date_trunc('month', t.transaction_date) AS date)
+                ON CONFLICT (user_id, category_id, month)
+                DO UPDATE SET total = EXCLUDED.total, tx_count = EXCLUDED.tx_count
+                """)) {
+            rebuild.setArray(1, userIdArray(connection, userIds));
+            rebuild.setDate(2, Date.valueOf(fromMonth));
+            rebuild.setDate(3, Date.valueOf(toExclusive));
+            return rebuild.executeUpdate();
+        }
+    }
+
+    private static Array userIdArray(Connection connection, List<Long> userIds) throws SQLException {
+        return connection.createArrayOf("bigint", userIds.toArray());
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf(format + "%n", args);
+    }
+
+    // The index-th reserved id, counting through the blocks in the order they were drawn
+    private record TransactionIds(long[] blockEnds) {
+
+        long id(long index) {
+            return blockEnds[(int) (index / ID_INCREMENT)] - ID_INCREMENT + 1 + index % ID_INCREMENT;
+        }
+    }
+}
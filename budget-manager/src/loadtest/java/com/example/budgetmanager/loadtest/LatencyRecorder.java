@@ -0,0 +1,70 @@
+package com.example.budgetmanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint as raw samples. Each worker owns its recorders, so recording takes no
+ * lock; the workers' recorders are merged once the run is over and percentiles are read from the
+ * sorted samples, which keeps them exact.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void recordError(long nanos) {
+        record(nanos);
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    LoadTestReport.EndpointResult result(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        return new LoadTestReport.EndpointResult(
+                count,
+                errors,
+                round(count / seconds),
+                new LoadTestReport.Latency(
+                        millis(percentile(sorted, 50)),
+                        millis(percentile(sorted, 95)),
+                        millis(percentile(sorted, 99)),
+                        millis(count == 0 ? 0 : sorted[count - 1]),
+                        millis(count == 0 ? 0 : sum / count)));
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(double nanos) {
+        return round(nanos / 1_000_000);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.budgetmanager.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the load-test tool, run through the {@code loadtest} Maven profile:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="seed --users=200 --transactions-per-user=10000"
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="run --concurrency=100 --duration=PT2M"
+ * </pre>
+ * {@code seed} bulk-loads a synthetic dataset straight into the database, {@code run} drives a mixed
+ * workload against a running backend and writes per-endpoint latency percentiles as JSON.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+        Options options = Options.parse(args);
+        switch (args[0]) {
+            case "seed" -> new DatasetSeeder(options).seed();
+            case "run" -> new WorkloadRunner(options).run();
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+    }
+
+    static String email(String prefix, int n) {
+        return prefix + "-" + n + "@example.com";
+    }
+
+    private static void usage() {
+        System.err.println("""
+                Usage: LoadTest seed|run [--option=value ...]
+
+                Shared:
+                  --email-prefix=loadtest        seeded users are <prefix>-<n>@example.com
+                  --password=loadtest-password   password of every seeded user
+                  --users=100                    number of seeded users
+
+                seed:
+                  --jdbc-url=jdbc:postgresql://localhost:5432/budgetdb
+                  --db-user=admin --db-password=supersecret
+                  --transactions-per-user=10000  --months=24  --random-seed=42
+                  --seed-workers=4               parallel COPY connections (default: cores, at most 4)
+                  --invalidation-channel=cache_invalidation  where backends are told to drop their caches
+
+                run:
+                  --base-url=http://localhost:8080
+                  --concurrency=50  --warmup=PT10S  --duration=PT60S
+                  --mix=login:2,create:18,list:30,dashboard:30,notifications:20
+                  --output=target/loadtest-result.json
+                """);
+    }
+
+    /**
+     * {@code --name=value} arguments after the command, with typed accessors and defaults.
+     */
+    static final class Options {
+
+        private final Map<String, String> values;
+
+        private Options(Map<String, String> values) {
+            this.values = values;
+        }
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got '" + arg + "'.");
+                }
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+            return new Options(values);
+        }
+
+        String get(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+
+        int getInt(String name, int defaultValue) {
+            String value = values.get(name);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+
+        long getLong(String name, long defaultValue) {
+            String value = values.get(name);
+            return value == null ? defaultValue : Long.parseLong(value);
+        }
+    }
+}
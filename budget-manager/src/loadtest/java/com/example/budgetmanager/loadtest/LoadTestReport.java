@@ -0,0 +1,27 @@
+package com.example.budgetmanager.loadtest;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Result file of a workload run. Field order and units are stable so two files can be diffed:
+ * throughput is requests per second, latencies are milliseconds, both rounded to three decimals.
+ */
+record LoadTestReport(
+        Instant startedAt,
+        String baseUrl,
+        int concurrency,
+        int users,
+        double warmupSeconds,
+        double measuredSeconds,
+        Map<String, Integer> mix,
+        EndpointResult total,
+        Map<String, EndpointResult> endpoints
+) {
+
+    record EndpointResult(long requests, long errors, double throughputPerSecond, Latency latencyMs) {
+    }
+
+    record Latency(double p50, double p95, double p99, double max, double mean) {
+    }
+}
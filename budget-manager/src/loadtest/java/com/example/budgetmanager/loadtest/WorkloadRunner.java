@@ -0,0 +1,267 @@
+package com.example.budgetmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives a weighted mix of API calls against a running backend. Every worker is a virtual thread
+ * acting as one seeded user: it logs in, then loops picking the next operation from the mix until
+ * the run ends. Requests that start during the warmup are not recorded.
+ */
+final class WorkloadRunner {
+
+    private static final Set<String> OPERATIONS = Set.of("login", "create", "list", "dashboard", "notifications");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String emailPrefix;
+    private final String password;
+    private final int users;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<String, Integer> mix;
+    private final Path output;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    WorkloadRunner(LoadTest.Options options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.emailPrefix = options.get("email-prefix", "loadtest");
+        this.password = options.get("password", "loadtest-password");
+        this.users = options.getInt("users", 100);
+        this.concurrency = options.getInt("concurrency", 50);
+        this.warmup = Duration.parse(options.get("warmup", "PT10S"));
+        this.duration = Duration.parse(options.get("duration", "PT60S"));
+        this.mix = parseMix(options.get("mix", "login:2,create:18,list:30,dashboard:30,notifications:20"));
+        this.output = Path.of(options.get("output", "target/loadtest-result.json"));
+    }
+
+    void run() throws Exception {
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + warmup.toNanos();
+        long endNanos = measureFrom + duration.toNanos();
+        System.out.printf("Running %d workers against %s for %s after a %s warmup.%n", concurrency, baseUrl, duration, warmup);
+
+        List<Map<String, LatencyRecorder>> perWorker = new ArrayList<>();
+        try (client; ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int userNumber = i % users + 1;
+                futures.add(workers.submit(() -> new Worker(userNumber, measureFrom, endNanos).run()));
+            }
+            for (Future<Map<String, LatencyRecorder>> future : futures) {
+                perWorker.add(future.get());
+            }
+        }
+
+        double measuredSeconds = (System.nanoTime() - measureFrom) / 1_000_000_000.0;
+        Map<String, LatencyRecorder> merged = new TreeMap<>();
+        LatencyRecorder total = new LatencyRecorder();
+        for (Map<String, LatencyRecorder> recorders : perWorker) {
+            recorders.forEach((operation, recorder) -> {
+                merged.computeIfAbsent(operation, name -> new LatencyRecorder()).merge(recorder);
+                total.merge(recorder);
+            });
+        }
+        Map<String, LoadTestReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        merged.forEach((operation, recorder) -> endpoints.put(operation, recorder.result(measuredSeconds)));
+
+        LoadTestReport report = new LoadTestReport(startedAt, baseUrl, concurrency, users,
+                warmup.toMillis() / 1000.0, Math.round(measuredSeconds * 1000) / 1000.0, mix,
+                total.result(measuredSeconds), endpoints);
+        if (output.getParent() != null) Files.createDirectories(output.getParent());
+        objectMapper.writeValue(output.toFile(), report);
+        printSummary(report);
+        System.out.printf("Results written to %s%n", output);
+    }
+
+    private static void printSummary(LoadTestReport report) {
+        System.out.printf("%-14s %10s %8s %10s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        report.endpoints().forEach((operation, result) -> printRow(operation, result));
+        printRow("total", report.total());
+    }
+
+    private static void printRow(String name, LoadTestReport.EndpointResult result) {
+        System.out.printf("%-14s %10d %8d %10.1f %9.2f %9.2f %9.2f%n", name, result.requests(), result.errors(),
+                result.throughputPerSecond(), result.latencyMs().p50(), result.latencyMs().p95(), result.latencyMs().p99());
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2 || !OPERATIONS.contains(parts[0])) {
+                throw new IllegalArgumentException("Mix entries are <operation>:<weight> with an operation out of " + OPERATIONS + ".");
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) mix.put(parts[0], weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("The mix needs at least one operation with a positive weight.");
+        return mix;
+    }
+
+    private final class Worker {
+
+        private final String email;
+        private final long measureFrom;
+        private final long endNanos;
+        private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        private final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        private String token;
+        private List<Long> expenseCategoryIds = List.of();
+
+        private Worker(int userNumber, long measureFrom, long endNanos) {
+            this.email = LoadTest.email(emailPrefix, userNumber);
+            this.measureFrom = measureFrom;
+            this.endNanos = endNanos;
+        }
+
+        Map<String, LatencyRecorder> run() throws InterruptedException {
+            while (System.nanoTime() < endNanos) {
+                if (token == null) {
+                    login();
+                    if (token == null) {
+                        // Backend down or the user is not seeded; do not spin
+                        Thread.sleep(100);
+                        continue;
+                    }
+                    loadCategories();
+                }
+                String operation = pickOperation();
+                switch (operation) {
+                    case "login" -> login();
+                    case "create" -> createTransaction();
+                    case "list" -> call(operation, get("/api/v1/transactions/page?size=50"));
+                    case "dashboard" -> call(operation, get("/api/v1/transactions/dashboard"));
+                    case "notifications" -> call(operation, get("/api/v1/notifications/page?size=20"));
+                    default -> throw new IllegalStateException(operation);
+                }
+            }
+            return recorders;
+        }
+
+        private void login() {
+            String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+            HttpResponse<String> response = call("login", HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            token = response == null || response.statusCode() != 200 ? null : readJson(response).path("jwtToken").asText(null);
+        }
+
+        // Setup only, not part of the measured mix
+        private void loadCategories() {
+            try {
+                HttpResponse<String> response = client.send(get("/api/v1/categories"), HttpResponse.BodyHandlers.ofString());
+                List<Long> ids = new ArrayList<>();
+                for (JsonNode category : readJson(response)) {
+                    if ("EXPENSE".equals(category.path("type").asText())) ids.add(category.path("id").asLong());
+                }
+                expenseCategoryIds = ids;
+            } catch (IOException e) {
+                expenseCategoryIds = List.of();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void createTransaction() {
+            if (expenseCategoryIds.isEmpty()) return;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long categoryId = expenseCategoryIds.get(random.nextInt(expenseCategoryIds.size()));
+            String body = "{\"categoryId\":" + categoryId
+                    + ",\"amount\":" + (random.nextInt(1, 10_000) / 100.0)
+                    + ",\"description\":\"Load test\""
+                    + ",\"transactionDate\":\"" + LocalDate.now() + "\"}";
+            call("create", authorized("/api/v1/transactions")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+
+        private HttpRequest get(String path) {
+            return authorized(path).GET().build();
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token);
+        }
+
+        private HttpResponse<String> call(String operation, HttpRequest request) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = null;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                // Counted as an error below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (start >= measureFrom && start < endNanos) {
+                LatencyRecorder recorder = recorders.computeIfAbsent(operation, name -> new LatencyRecorder());
+                if (response != null && response.statusCode() < 400) {
+                    recorder.record(elapsed);
+                } else {
+                    recorder.recordError(elapsed);
+                }
+            }
+            if (response != null && response.statusCode() == 401 && !operation.equals("login")) {
+                token = null;
+            }
+            return response;
+        }
+
+        private String pickOperation() {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) return entry.getKey();
+            }
+            throw new IllegalStateException();
+        }
+
+        private JsonNode readJson(HttpResponse<String> response) {
+            try {
+                return objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                return objectMapper.missingNode();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.budgetmanager.api.analytics;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.rollup.MonthlyCategoryTotalRepository;
+import com.example.budgetmanager.domain.rollup.MonthlyTotalView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class AnalyticsService {
+
+    private static final int YEAR = 12;
+
+    private final MonthlyCategoryTotalRepository totalRepository;
+
+    @Value("${application.analytics.max-months:60}")
+    private int maxMonths;
+
+    @Value("${application.analytics.max-rolling-window:12}")
+    private int maxRollingWindow;
+
+    public AnalyticsService(MonthlyCategoryTotalRepository totalRepository) {
+        this.totalRepository = totalRepository;
+    }
+
+    /**
+     * Trends for [from, to], read in one query from the monthly rollup: the cost depends on the number
+     * of months and categories, not on the number of transactions behind them.
+     */
+    @Transactional(readOnly = true)
+    public TrendDto getTrends(Long userId, YearMonth from, YearMonth to, int rollingWindow) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'.");
+        }
+        int months = (int) ChronoUnit.MONTHS.between(from, to) + 1;
+        if (months > maxMonths) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A trend can span at most " + maxMonths + " months.");
+        }
+        if (rollingWindow < 1 || rollingWindow > maxRollingWindow) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The rolling window must be between 1 and " + maxRollingWindow + " months.");
+        }
+
+        // Load the look-back months too, so the first months of the range get full averages and deltas
+        int lookBack = Math.max(YEAR, rollingWindow - 1);
+        YearMonth loadFrom = from.minusMonths(lookBack);
+        int loaded = months + lookBack;
+
+        Map<Long, CategoryAccumulator> byCategory = new LinkedHashMap<>();
+        BigDecimal[] income = zeros(loaded);
+        BigDecimal[] expense = zeros(loaded);
+        for (MonthlyTotalView row : totalRepository.findAllForRange(userId, loadFrom.atDay(1), to.atDay(1))) {
+            int index = (int) ChronoUnit.MONTHS.between(loadFrom, YearMonth.from(row.month()));
+            BigDecimal[] side = row.categoryType() == CategoryType.INCOME ? income : expense;
+            side[index] = side[index].add(row.total());
+            byCategory.computeIfAbsent(row.categoryId(), id -> new CategoryAccumulator(row, loaded))
+                    .totals[index] = row.total();
+        }
+
+        List<TrendDto.MonthPoint> points = new ArrayList<>(months);
+        for (int i = lookBack; i < loaded; i++) {
+            points.add(new TrendDto.MonthPoint(
+                    loadFrom.plusMonths(i),
+                    income[i],
+                    expense[i],
+                    income[i].subtract(expense[i]),
+                    rollingAverage(income, i, rollingWindow),
+                    rollingAverage(expense, i, rollingWindow),
+                    income[i].subtract(income[i - YEAR]),
+                    expense[i].subtract(expense[i - YEAR])
+            ));
+        }
+
+        List<TrendDto.CategorySeries> categories = new ArrayList<>(byCategory.size());
+        for (CategoryAccumulator category : byCategory.values()) {
+            List<BigDecimal> totals = new ArrayList<>(months);
+            List<BigDecimal> averages = new ArrayList<>(months);
+            List<BigDecimal> deltas = new ArrayList<>(months);
+            for (int i = lookBack; i < loaded; i++) {
+                totals.add(category.totals[i]);
+                averages.add(rollingAverage(category.totals, i, rollingWindow));
+                deltas.add(category.totals[i].subtract(category.totals[i - YEAR]));
+            }
+            categories.add(new TrendDto.CategorySeries(category.id, category.name, category.type, totals, averages, deltas));
+        }
+
+        return new TrendDto(from, to, rollingWindow, points, categories);
+    }
+
+    // Mean of the window ending at index (inclusive); the caller guarantees window - 1 months of look-back
+    private static BigDecimal rollingAverage(BigDecimal[] series, int index, int window) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = index - window + 1; i <= index; i++) {
+            sum = sum.add(series[i]);
+        }
+        return sum.divide(BigDecimal.valueOf(window), 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal[] zeros(int length) {
+        BigDecimal[] values = new BigDecimal[length];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    private static final class CategoryAccumulator {
+        private final Long id;
+        private final String name;
+        private final CategoryType type;
+        private final BigDecimal[] totals;
+
+        private CategoryAccumulator(MonthlyTotalView first, int months) {
+            this.id = first.categoryId();
+            this.name = first.categoryName();
+            this.type = first.categoryType();
+            this.totals = zeros(months);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.budgetmanager.api.analytics;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Month-by-month totals for a range. Every list is aligned with {@code months}: index i of a
+ * category series is the value for {@code months.get(i).month()}. Rolling averages cover the
+ * trailing {@code rollingWindow} months including the current one; year-over-year deltas compare
+ * with the same month a year earlier. Both look back before {@code from} where needed.
+ */
+public record TrendDto(
+        YearMonth from,
+        YearMonth to,
+        int rollingWindow,
+        List<MonthPoint> months,
+        List<CategorySeries> categories
+) {
+    public record MonthPoint(
+            YearMonth month,
+            BigDecimal income,
+            BigDecimal expense,
+            BigDecimal net,
+            BigDecimal incomeRollingAverage,
+            BigDecimal expenseRollingAverage,
+            BigDecimal incomeYoyDelta,
+            BigDecimal expenseYoyDelta
+    ) {
+    }
+
+    public record CategorySeries(
+            Long categoryId,
+            String categoryName,
+            CategoryType categoryType,
+            List<BigDecimal> totals,
+            List<BigDecimal> rollingAverage,
+            List<BigDecimal> yoyDelta
+    ) {
+    }
+}
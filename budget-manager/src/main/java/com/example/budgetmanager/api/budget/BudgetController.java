@@ -1,9 +1,9 @@
 package com.example.budgetmanager.api.budget;
 
+import com.example.budgetmanager.config.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.YearMonth;
@@ -22,9 +22,9 @@ public class BudgetController {
     @PostMapping
     public ResponseEntity<BudgetDto> setBudget(
             @Valid @RequestBody BudgetRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        BudgetDto savedBudget = budgetService.setBudget(request, userDetails.getUsername());
+        BudgetDto savedBudget = budgetService.setBudget(request, user.id());
         return ResponseEntity.ok(savedBudget);
     }
 
@@ -32,13 +32,13 @@ public class BudgetController {
     public ResponseEntity<List<BudgetDto>> getBudgets(
             @RequestParam(name = "year", required = false) Integer year,
             @RequestParam(name = "month", required = false) Integer month,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
         YearMonth yearMonth = YearMonth.now();
         int queryYear = year != null ? year : yearMonth.getYear();
         int queryMonth = month != null ? month : yearMonth.getMonthValue();
 
-        List<BudgetDto> budgets = budgetService.getBudgetsForMonth(queryYear, queryMonth, userDetails.getUsername());
+        List<BudgetDto> budgets = budgetService.getBudgetsForMonth(queryYear, queryMonth, user.id());
         return ResponseEntity.ok(budgets);
     }
 }
\ No newline at end of file
@@ -2,36 +2,43 @@ package com.example.budgetmanager.api.budget;
 
 import com.example.budgetmanager.domain.budget.Budget;
 import com.example.budgetmanager.domain.budget.BudgetRepository;
+import com.example.budgetmanager.domain.budget.BudgetView;
 import com.example.budgetmanager.domain.category.Category;
 import com.example.budgetmanager.domain.category.CategoryRepository;
 import com.example.budgetmanager.domain.category.CategoryType;
-import com.example.budgetmanager.domain.user.User;
 import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.service.BudgetSpendChangedEvent;
+import com.example.budgetmanager.service.DataVersionService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersionService dataVersionService;
 
-    public BudgetService(BudgetRepository budgetRepository, CategoryRepository categoryRepository, UserRepository userRepository) {
+    public BudgetService(BudgetRepository budgetRepository, CategoryRepository categoryRepository, UserRepository userRepository, ApplicationEventPublisher eventPublisher, DataVersionService dataVersionService) {
         this.budgetRepository = budgetRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.dataVersionService = dataVersionService;
     }
 
     @Transactional
-    public BudgetDto setBudget(BudgetRequest request, String userEmail) {
-        User user = getUserByEmail(userEmail);
-        Category category = categoryRepository.findByIdAndUserId(request.categoryId(), user.getId())
+    public BudgetDto setBudget(BudgetRequest request, Long userId) {
+        Category category = categoryRepository.findByIdAndUserId(request.categoryId(), userId)
                 .orElseThrow(() -> new AccessDeniedException("Category not found or you do not have permission."));
 
         if (category.getType() != CategoryType.EXPENSE) {
@@ -41,31 +48,26 @@ public class BudgetService {
         LocalDate month = LocalDate.of(request.year(), request.month(), 1);
 
         // "Upsert" logic: find existing or create new
-        Budget budget = budgetRepository.findByUserIdAndCategoryIdAndMonth(user.getId(), category.getId(), month)
+        Budget budget = budgetRepository.findByUserIdAndCategoryIdAndMonth(userId, category.getId(), month)
                 .orElse(new Budget());
 
-        budget.setUser(user);
+        budget.setUser(userRepository.getReferenceById(userId));
         budget.setCategory(category);
         budget.setAmount(request.amount());
         budget.setMonth(month);
 
         Budget savedBudget = budgetRepository.save(budget);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(BudgetSpendChangedEvent.of(userId, category.getId(), month));
         return toDto(savedBudget);
     }
 
     @Transactional(readOnly = true)
-    public List<BudgetDto> getBudgetsForMonth(int year, int month, String userEmail) {
-        User user = getUserByEmail(userEmail);
+    public List<BudgetDto> getBudgetsForMonth(int year, int month, Long userId) {
         LocalDate monthDate = LocalDate.of(year, month, 1);
-        return budgetRepository.findAllByUserIdAndMonth(user.getId(), monthDate)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-    }
-
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found."));
+        return budgetRepository.findViewsByUserIdAndMonth(userId, monthDate).stream()
+                .map(BudgetService::toDto)
+                .toList();
     }
 
     private BudgetDto toDto(Budget budget) {
@@ -77,4 +79,8 @@ public class BudgetService {
                 budget.getMonth()
         );
     }
+
+    private static BudgetDto toDto(BudgetView view) {
+        return new BudgetDto(view.id(), view.categoryId(), view.categoryName(), view.amount(), view.month());
+    }
 }
\ No newline at end of file
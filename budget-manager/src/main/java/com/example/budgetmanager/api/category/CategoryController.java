@@ -1,10 +1,10 @@
 package com.example.budgetmanager.api.category;
 
+import com.example.budgetmanager.config.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,7 +16,7 @@ public class CategoryController {
     /*
     Note on @AuthenticationPrincipal:
     This powerful annotation tells Spring Security to inject the details of the currently
-     logged-in user directly into our method. This is how we securely get the user's email.
+     logged-in user directly into our method. This is how we securely get the user's id.
      */
 
     private final CategoryService categoryService;
@@ -26,20 +26,20 @@ public class CategoryController {
     }
 
     @PostMapping
-    public ResponseEntity<CategoryDto> createCategory(@Valid @RequestBody CategoryRequest request, @AuthenticationPrincipal UserDetails userDetails) {
-        CategoryDto createdCategory = categoryService.create(request, userDetails.getUsername());
+    public ResponseEntity<CategoryDto> createCategory(@Valid @RequestBody CategoryRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        CategoryDto createdCategory = categoryService.create(request, user.id());
         return new ResponseEntity<>(createdCategory, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getUserCategories(@AuthenticationPrincipal UserDetails userDetails) {
-        List<CategoryDto> categories = categoryService.getCategoriesForUser(userDetails.getUsername());
+    public ResponseEntity<List<CategoryDto>> getUserCategories(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<CategoryDto> categories = categoryService.getCategoriesForUser(user.id());
         return ResponseEntity.ok(categories);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteCategory(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        categoryService.delete(id, userDetails.getUsername());
+    public void deleteCategory(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        categoryService.delete(id, user.id());
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.example.budgetmanager.api.category;
 
 import com.example.budgetmanager.domain.category.Category;
 import com.example.budgetmanager.domain.category.CategoryRepository;
-import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.domain.rollup.MonthlyCategoryTotalRepository;
 import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.service.DataVersionService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,59 +13,60 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final MonthlyCategoryTotalRepository totalRepository;
+    private final DataVersionService dataVersionService;
 
-    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository) {
+    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository, MonthlyCategoryTotalRepository totalRepository, DataVersionService dataVersionService) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.totalRepository = totalRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     @Transactional
-    public CategoryDto create(CategoryRequest request, String userEmail) {
-        User user = getUserByEmail(userEmail);
+    public CategoryDto create(CategoryRequest request, Long userId) {
 
-        if (categoryRepository.existsByNameAndUserId(request.name(), user.getId())) {
+        if (categoryRepository.existsByNameAndUserId(request.name(), userId)) {
             throw new IllegalStateException("Category with this name already exists.");
         }
 
         Category category = new Category();
         category.setName(request.name());
         category.setType(request.type());
-        category.setUser(user);
+        category.setUser(userRepository.getReferenceById(userId));
 
         Category savedCategory = categoryRepository.save(category);
+        dataVersionService.bump(userId);
         return toDto(savedCategory);
     }
 
     @Transactional(readOnly = true)
-    public List<CategoryDto> getCategoriesForUser(String userEmail) {
-        User user = getUserByEmail(userEmail);
-        return categoryRepository.findAllByUserId(user.getId())
+    public List<CategoryDto> getCategoriesForUser(Long userId) {
+        return categoryRepository.findAllByUserId(userId)
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public void delete(Long id, String userEmail) {
-        User user = getUserByEmail(userEmail);
+    public void delete(Long id, Long userId) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new IllegalStateException("Category not found"));
 
         // CRITICAL: Ensure the user owns this category before deleting
-        if (!category.getUser().getId().equals(user.getId())) {
+        if (!category.getUser().getId().equals(userId)) {
             throw new AccessDeniedException("You do not have permission to delete this category.");
         }
+        // The category's transactions are removed by cascade, so drop their rollup rows too
+        totalRepository.deleteAllByCategoryId(category.getId());
         categoryRepository.delete(category);
-    }
-
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found."));
+        dataVersionService.bump(userId);
     }
 
     private CategoryDto toDto(Category category) {
@@ -0,0 +1,8 @@
+package com.example.budgetmanager.api.notification;
+
+public record MarkReadResultDto(
+        // Notifications this request changed from unread to read
+        long marked,
+        long unread
+) {
+}
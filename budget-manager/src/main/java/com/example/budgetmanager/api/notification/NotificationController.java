@@ -1,68 +1,76 @@
 package com.example.budgetmanager.api.notification;
 
-import com.example.budgetmanager.domain.notification.Notification;
-import com.example.budgetmanager.domain.notification.NotificationRepository;
-import com.example.budgetmanager.domain.user.User;
-import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.config.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
 public class NotificationController {
 
-    private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationStreamHub streamHub;
 
-    public NotificationController(NotificationRepository notificationRepository, UserRepository userRepository) {
-        this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
-    }
-
-    @GetMapping
-    public ResponseEntity<List<NotificationDto>> getNotifications(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = findUserByEmail(userDetails.getUsername());
-        List<Notification> notifications = notificationRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+    @Value("${application.notifications.page-size:20}")
+    private int defaultPageSize;
 
-        List<NotificationDto> dtos = notifications.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Value("${application.notifications.max-page-size:100}")
+    private int maxPageSize;
 
-        return ResponseEntity.ok(dtos);
+    public NotificationController(NotificationService notificationService, NotificationStreamHub streamHub) {
+        this.notificationService = notificationService;
+        this.streamHub = streamHub;
     }
 
-    @PostMapping("/{id}/mark-as-read")
-    @ResponseStatus(HttpStatus.OK)
-    @Transactional
-    public void markAsRead(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = findUserByEmail(userDetails.getUsername());
-        Notification notification = notificationRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+    @GetMapping
+    public ResponseEntity<List<NotificationDto>> getNotifications(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.getNotifications(user.id()));
+    }
 
-        // SECURITY CHECK: Ensure the user owns the notification
-        if (!notification.getUser().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to modify this notification.");
-        }
+    // Cursor-paginated inbox, newest first: pass nextCursor from the previous page to continue
+    @GetMapping("/page")
+    public ResponseEntity<NotificationPageDto> getNotificationPage(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        int pageSize = Math.min(Math.max(size != null ? size : defaultPageSize, 1), maxPageSize);
+        return ResponseEntity.ok(notificationService.getPage(user.id(), cursor, pageSize));
+    }
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+    // Served from a per-user counter, so polling it is one primary-key lookup
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(new UnreadCountDto(notificationService.getUnreadCount(user.id())));
     }
 
-    private User findUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Authenticated user not found in database."));
+    /**
+     * Server-sent events: each new notification is pushed as a {@code notification} event whose id
+     * is the notification id, so a reconnecting client resumes with the standard Last-Event-ID header.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@AuthenticationPrincipal AuthenticatedUser user,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return streamHub.subscribe(user.id(), lastEventId);
     }
 
+    @PostMapping("/{id}/mark-as-read")
+    @ResponseStatus(HttpStatus.OK)
+    public void markAsRead(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        notificationService.markAsRead(id, user.id());
+    }
 
-    private NotificationDto toDto(Notification n) {
-        return new NotificationDto(n.getId(), n.getMessage(), n.getType(), n.isRead(), n.getCreatedAt());
+    // Without upToId every unread notification is marked; with it, only those up to that id
+    @PostMapping("/mark-all-read")
+    public ResponseEntity<MarkReadResultDto> markAllAsRead(@AuthenticationPrincipal AuthenticatedUser user,
+                                                           @RequestParam(required = false) Long upToId) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(user.id(), upToId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.example.budgetmanager.api.notification;
+
+import java.util.List;
+
+public record NotificationPageDto(
+        List<NotificationDto> items,
+        // Null on the last page
+        String nextCursor
+) {
+}
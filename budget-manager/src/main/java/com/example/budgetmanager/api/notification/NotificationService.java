@@ -0,0 +1,96 @@
+package com.example.budgetmanager.api.notification;
+
+import com.example.budgetmanager.config.datasource.ReadYourWritesGuard;
+import com.example.budgetmanager.domain.notification.Notification;
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.domain.notification.NotificationView;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Service
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public NotificationService(NotificationRepository notificationRepository, ReadYourWritesGuard readYourWritesGuard) {
+        this.notificationRepository = notificationRepository;
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getNotifications(Long userId) {
+        return notificationRepository.findViewsByUserId(userId).stream()
+                .map(NotificationService::toDto)
+                .toList();
+    }
+
+    /**
+     * One page of the user's notifications, newest first. The cursor is the previous page's
+     * nextCursor; a null cursor starts at the newest notification.
+     */
+    @Transactional(readOnly = true)
+    public NotificationPageDto getPage(Long userId, String cursor, int size) {
+        long beforeId = cursor == null ? Long.MAX_VALUE : parseCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<NotificationDto> rows = notificationRepository.findPage(userId, beforeId, Limit.of(size + 1)).stream()
+                .map(NotificationService::toDto)
+                .toList();
+        if (rows.size() <= size) {
+            return new NotificationPageDto(rows, null);
+        }
+        List<NotificationDto> items = rows.subList(0, size);
+        return new NotificationPageDto(List.copyOf(items), String.valueOf(items.get(size - 1).id()));
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return notificationRepository.findUnreadCount(userId).orElse(0L);
+    }
+
+    @Transactional
+    public void markAsRead(Long id, Long userId) {
+        if (notificationRepository.markRead(userId, id, id) == 1) {
+            readYourWritesGuard.recordWrite(userId);
+            return;
+        }
+        // Nothing changed: either it was already read, or it is missing or not the user's
+        Notification notification = notificationRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+
+        // SECURITY CHECK: Ensure the user owns the notification
+        if (!notification.getUser().getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to modify this notification.");
+        }
+    }
+
+    /**
+     * Marks all of the user's unread notifications as read, or only those with an id up to
+     * upToId so a client does not mark notifications it has not displayed yet.
+     */
+    @Transactional
+    public MarkReadResultDto markAllAsRead(Long userId, Long upToId) {
+        long marked = notificationRepository.markRead(userId, 0L, upToId != null ? upToId : Long.MAX_VALUE);
+        // The unread badge is polled right after, and must not come back from a lagging replica
+        if (marked > 0) readYourWritesGuard.recordWrite(userId);
+        return new MarkReadResultDto(marked, getUnreadCount(userId));
+    }
+
+    static NotificationDto toDto(NotificationView view) {
+        return new NotificationDto(view.id(), view.message(), view.type(), view.isRead(), view.createdAt());
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+}
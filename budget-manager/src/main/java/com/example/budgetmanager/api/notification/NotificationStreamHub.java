@@ -0,0 +1,225 @@
+package com.example.budgetmanager.api.notification;
+
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.service.NotificationCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Fans new notifications out to the open event streams of their user.
+ * <p>
+ * An idle stream is an async request plus a small subscriber object; no thread is held. Events are
+ * queued per subscriber and written by a virtual thread only while that queue is non-empty, so a
+ * slow client never blocks the publisher or other clients. A client whose queue overflows is
+ * disconnected instead of buffered further; it reconnects with {@code Last-Event-ID} and the
+ * missed notifications are replayed from the database.
+ */
+@Component
+public class NotificationStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamHub.class);
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-stream-", 0).factory());
+
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final int replayLimit;
+
+    public NotificationStreamHub(NotificationRepository notificationRepository,
+                                 @Value("${application.notifications.stream.timeout:PT30M}") Duration timeout,
+                                 @Value("${application.notifications.stream.queue-capacity:100}") int queueCapacity,
+                                 @Value("${application.notifications.stream.replay-limit:100}") int replayLimit) {
+        this.notificationRepository = notificationRepository;
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.replayLimit = replayLimit;
+    }
+
+    /**
+     * Opens a stream for the user. With a last event id, notifications created after it are sent
+     * first; if there are more than the replay limit, a single {@code resync} event tells the
+     * client to reload the list instead.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(subscriber));
+
+        // Registered before the replay query, which reads the primary, so nothing committed in between is missed
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        List<NotificationDto> missed = lastEventId == null ? List.of()
+                : notificationRepository.findViewsByUserIdAfter(userId, lastEventId, Limit.of(replayLimit + 1)).stream()
+                        .map(NotificationService::toDto)
+                        .toList();
+        subscriber.start(missed);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(event.userId());
+        if (userSubscribers == null) return;
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(event.notification());
+        }
+    }
+
+    // Keeps proxies from closing idle streams and surfaces dead connections as write errors
+    @Scheduled(fixedDelayString = "${application.notifications.stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+
+        // Guarded by this
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        private Set<Long> replayedIds = Set.of();
+        private boolean started;
+        private boolean draining;
+        private boolean heartbeatPending;
+        private boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void start(List<NotificationDto> missed) {
+            synchronized (this) {
+                if (missed.size() > replayLimit) {
+                    queue.clear();
+                    queue.add(new Frame(null, SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON)));
+                } else {
+                    // Live events queued during the replay query may also be in the replay
+                    replayedIds = missed.stream().map(NotificationDto::id).collect(Collectors.toSet());
+                    queue.removeIf(frame -> replayedIds.contains(frame.notificationId()));
+                    for (int i = missed.size() - 1; i >= 0; i--) {
+                        queue.addFirst(Frame.of(missed.get(i)));
+                    }
+                }
+                // An initial comment flushes the response headers right away
+                heartbeatPending = true;
+                started = true;
+            }
+            scheduleDrain();
+        }
+
+        void offer(NotificationDto notification) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed || replayedIds.contains(notification.id())) return;
+                overflow = queue.size() >= queueCapacity;
+                if (!overflow) queue.add(Frame.of(notification));
+            }
+            if (overflow) {
+                log.debug("Notification stream of user {} fell {} events behind, disconnecting it.", userId, queueCapacity);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed) return;
+                heartbeatPending = true;
+            }
+            scheduleDrain();
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        private void scheduleDrain() {
+            synchronized (this) {
+                if (!started || draining || closed) return;
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    Frame frame = queue.poll();
+                    if (frame != null) {
+                        event = frame.event();
+                    } else if (heartbeatPending && !closed) {
+                        heartbeatPending = false;
+                        event = SseEmitter.event().comment("heartbeat");
+                    } else {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    unregister(this);
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Frame(Long notificationId, SseEmitter.SseEventBuilder event) {
+
+        static Frame of(NotificationDto notification) {
+            return new Frame(notification.id(), SseEmitter.event()
+                    .id(String.valueOf(notification.id()))
+                    .name("notification")
+                    .data(notification, MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.budgetmanager.api.notification;
+
+public record UnreadCountDto(long unread) {
+}
@@ -0,0 +1,13 @@
+package com.example.budgetmanager.api.transaction;
+
+/**
+ * Where the dashboard summary gets its numbers from, set with {@code application.dashboard.mode}.
+ */
+public enum DashboardMode {
+    /** Pre-aggregated monthly totals; the default. */
+    ROLLUP,
+    /** GROUP BY over the month's transactions plus a budgets-with-spend join, computed by the database. */
+    AGGREGATE,
+    /** Loads the month's transactions and sums them in Java; kept as a baseline for benchmarks. */
+    IN_MEMORY
+}
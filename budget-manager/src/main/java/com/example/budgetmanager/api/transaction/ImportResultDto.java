@@ -0,0 +1,16 @@
+package com.example.budgetmanager.api.transaction;
+
+import java.util.List;
+
+public record ImportResultDto(
+        long rowsRead,
+        long rowsImported,
+        long rowsFailed,
+        // Capped; rowsFailed has the full count
+        List<RowError> errors,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+    public record RowError(long line, String message) {
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.budgetmanager.api.transaction;
 
+import com.example.budgetmanager.config.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 
@@ -16,53 +26,118 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService importService;
+    private final ObjectMapper objectMapper;
 
-    public TransactionController(TransactionService transactionService) {
+    // Lower bound for listings without a start date
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+
+    @Value("${application.transactions.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${application.transactions.max-page-size:500}")
+    private int maxPageSize;
+
+    public TransactionController(TransactionService transactionService, TransactionImportService importService, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     public ResponseEntity<TransactionDto> createTransaction(
             @Valid @RequestBody TransactionRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TransactionDto createdTransaction = transactionService.create(request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TransactionDto createdTransaction = transactionService.create(request, user.id());
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
 
+    // Bulk import from a bank export; the body is streamed, never held in memory as a whole
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, ImportFormat.NDJSON_VALUE})
+    public ResponseEntity<ImportResultDto> importTransactions(
+            HttpServletRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        ImportResultDto result = importService.importTransactions(request.getInputStream(), format, user.id());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
     public ResponseEntity<List<TransactionDto>> getUserTransactions(
             @RequestParam(name = "year", required = false) Integer year,
             @RequestParam(name = "month", required = false) Integer month,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
         // Default to the current year and month if not provided
         YearMonth yearMonth = YearMonth.now();
         int queryYear = year != null ? year : yearMonth.getYear();
         int queryMonth = month != null ? month : yearMonth.getMonthValue();
 
-        List<TransactionDto> transactions = transactionService.getTransactionsForUser(queryYear, queryMonth, userDetails.getUsername());
+        List<TransactionDto> transactions = transactionService.getTransactionsForUser(queryYear, queryMonth, user.id());
         return ResponseEntity.ok(transactions);
     }
 
+    // Cursor-paginated listing, newest first: pass nextCursor from the previous page to continue
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDto> getUserTransactionPage(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        int pageSize = Math.min(Math.max(size != null ? size : defaultPageSize, 1), maxPageSize);
+        TransactionPageDto page = transactionService.getTransactionPage(
+                user.id(), from != null ? from : EARLIEST_DATE, to != null ? to : LocalDate.now(), cursor, pageSize);
+        return ResponseEntity.ok(page);
+    }
+
+    // Streams every matching transaction as NDJSON, newest first, straight from a database cursor
+    @GetMapping(value = "/stream", produces = ImportFormat.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserTransactions(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        Long userId = user.id();
+        LocalDate startDate = from != null ? from : EARLIEST_DATE;
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(out)) {
+                transactionService.streamTransactions(userId, startDate, endDate, transaction -> {
+                    try {
+                        writer.write(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(ImportFormat.NDJSON_VALUE)).body(body);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTransaction(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        transactionService.delete(id, userDetails.getUsername());
+        transactionService.delete(id, user.id());
     }
 
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardDto> getDashboard(
             @RequestParam(name = "year", required = false) Integer year,
             @RequestParam(name = "month", required = false) Integer month,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
         YearMonth yearMonth = YearMonth.now();
         int queryYear = year != null ? year : yearMonth.getYear();
         int queryMonth = month != null ? month : yearMonth.getMonthValue();
-        DashboardDto dashboardData = transactionService.getDashboardSummary(queryYear, queryMonth, userDetails.getUsername());
+        DashboardDto dashboardData = transactionService.getDashboardSummary(queryYear, queryMonth, user.id());
         return ResponseEntity.ok(dashboardData);
     }
 }
\ No newline at end of file
@@ -0,0 +1,301 @@
+package com.example.budgetmanager.api.transaction;
+
+import com.example.budgetmanager.domain.category.Category;
+import com.example.budgetmanager.domain.category.CategoryRepository;
+import com.example.budgetmanager.service.BudgetSpendChangedEvent;
+import com.example.budgetmanager.service.DataVersionService;
+import com.example.budgetmanager.service.MonthlyRollupService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams a CSV or NDJSON upload line by line and writes it in JDBC batches, so memory use
+ * depends on the batch size and not on the file size. Each batch commits together with its
+ * rollup deltas; rows that fail validation are reported and skipped.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    // INCREMENT BY of transactions_seq and allocationSize of Transaction's id
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transactions (id, user_id, category_id, amount, description, transaction_date, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ID_BLOCKS_SQL = "SELECT nextval('transactions_seq') FROM generate_series(1, ?)";
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final DataVersionService dataVersionService;
+
+    @Value("${application.import.batch-size:1000}")
+    private int batchSize;
+
+    public TransactionImportService(CategoryRepository categoryRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    MonthlyRollupService rollupService, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                                    DataVersionService dataVersionService) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.dataVersionService = dataVersionService;
+    }
+
+    public ImportResultDto importTransactions(InputStream body, ImportFormat format, Long userId) throws IOException {
+        long startNanos = System.nanoTime();
+
+        // Per-import category cache: one query up front instead of one lookup per row
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAllByUserId(userId)) {
+            categoryIds.put(normalize(category.getName()), category.getId());
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = format == ImportFormat.CSV ? readCsvHeader(reader.readLine()) : null;
+        long lineNumber = format == ImportFormat.CSV ? 1 : 0;
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        List<ImportResultDto.RowError> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsImported = 0;
+        long rowsFailed = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            rowsRead++;
+            try {
+                batch.add(parseRow(line, format, csvColumns, categoryIds));
+            } catch (IllegalArgumentException e) {
+                rowsFailed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResultDto.RowError(lineNumber, e.getMessage()));
+                }
+            }
+            if (batch.size() >= batchSize) {
+                rowsImported += writeBatch(batch, userId);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rowsImported += writeBatch(batch, userId);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = rowsImported / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9);
+        log.info("Imported {} of {} rows for user {} in {} ms ({} rows/s, {} failed).",
+                rowsImported, rowsRead, userId, elapsedNanos / 1_000_000, String.format("%.1f", rowsPerSecond), rowsFailed);
+        return new ImportResultDto(rowsRead, rowsImported, rowsFailed, errors, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+
+    private int writeBatch(List<ImportRow> batch, Long userId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        long[] ids = allocateIds(batch.size());
+        List<Object[]> args = new ArrayList<>(batch.size());
+        Map<RollupKey, BigDecimal> totals = new HashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ImportRow row = batch.get(i);
+            args.add(new Object[]{ids[i], userId, row.categoryId(), row.amount(), row.description(), Date.valueOf(row.date()), now});
+            RollupKey key = new RollupKey(row.categoryId(), row.date().withDayOfMonth(1));
+            totals.merge(key, row.amount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            totals.forEach((key, total) -> {
+                rollupService.recordTransactions(userId, key.categoryId(), key.month(), total, counts.get(key));
+                eventPublisher.publishEvent(new BudgetSpendChangedEvent(userId, key.categoryId(), key.month()));
+            });
+            dataVersionService.bump(userId);
+        });
+        return batch.size();
+    }
+
+    /**
+     * Takes ids from {@code transactions_seq} a block at a time, the way Hibernate's pooled
+     * optimizer does: each value drawn owns (value - 50, value], so imported and JPA-created
+     * transactions never share an id. What is left of the last block is not used.
+     */
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int next = 0;
+        while (next < count) {
+            int blocks = (count - next + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+            for (Long blockEnd : jdbcTemplate.queryForList(ID_BLOCKS_SQL, Long.class, blocks)) {
+                // The sequence starts at 1, so the very first block drawn is cut short there
+                for (long id = Math.max(1, blockEnd - ID_BLOCK_SIZE + 1); id <= blockEnd && next < count; id++) {
+                    ids[next++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private ImportRow parseRow(String line, ImportFormat format, Map<String, Integer> csvColumns, Map<String, Long> categoryIds) {
+        String date;
+        String category;
+        String amount;
+        String description;
+        if (format == ImportFormat.CSV) {
+            List<String> fields = splitCsvLine(line);
+            date = field(fields, csvColumns.get("date"));
+            category = field(fields, csvColumns.get("category"));
+            amount = field(fields, csvColumns.get("amount"));
+            description = field(fields, csvColumns.get("description"));
+        } else {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed JSON.");
+            }
+            date = text(node, "date");
+            category = text(node, "category");
+            amount = text(node, "amount");
+            description = text(node, "description");
+        }
+        return toImportRow(date, category, amount, description, categoryIds);
+    }
+
+    private ImportRow toImportRow(String date, String category, String amount, String description, Map<String, Long> categoryIds) {
+        if (date == null || date.isBlank()) throw new IllegalArgumentException("Date is required.");
+        if (category == null || category.isBlank()) throw new IllegalArgumentException("Category is required.");
+        if (amount == null || amount.isBlank()) throw new IllegalArgumentException("Amount is required.");
+
+        LocalDate transactionDate;
+        try {
+            transactionDate = LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date must be in yyyy-MM-dd format.");
+        }
+        if (transactionDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Transaction date cannot be in the future.");
+        }
+
+        BigDecimal value;
+        try {
+            value = new BigDecimal(amount.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount is not a number.");
+        }
+        if (value.signum() <= 0) throw new IllegalArgumentException("Amount must be positive.");
+        if (value.scale() > 2 || value.precision() - value.scale() > 8) {
+            throw new IllegalArgumentException("Amount must have at most 8 integer digits and 2 decimals.");
+        }
+
+        Long categoryId = categoryIds.get(normalize(category));
+        if (categoryId == null) throw new IllegalArgumentException("Unknown category '" + category.trim() + "'.");
+
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters.");
+        }
+        return new ImportRow(transactionDate, categoryId, value, description == null || description.isBlank() ? null : description);
+    }
+
+    private static Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV upload is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("date", "category", "amount")) {
+            if (!columns.containsKey(required)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain a '" + required + "' column.");
+            }
+        }
+        return columns;
+    }
+
+    // RFC 4180 fields on a single line: commas inside quotes, "" as an escaped quote
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Integer index) {
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String normalize(String categoryName) {
+        return categoryName.trim();
+    }
+
+    private record ImportRow(LocalDate date, Long categoryId, BigDecimal amount, String description) {
+    }
+
+    private record RollupKey(Long categoryId, LocalDate month) {
+    }
+}
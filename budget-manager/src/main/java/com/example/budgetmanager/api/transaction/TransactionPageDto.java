@@ -0,0 +1,10 @@
+package com.example.budgetmanager.api.transaction;
+
+import java.util.List;
+
+public record TransactionPageDto(
+        List<TransactionDto> items,
+        // Null on the last page
+        String nextCursor
+) {
+}
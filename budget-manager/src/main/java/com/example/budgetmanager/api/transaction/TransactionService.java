@@ -1,24 +1,37 @@
 package com.example.budgetmanager.api.transaction;
 
-import com.example.budgetmanager.domain.budget.Budget;
 import com.example.budgetmanager.domain.budget.BudgetRepository;
+import com.example.budgetmanager.domain.budget.BudgetView;
 import com.example.budgetmanager.domain.category.Category;
 import com.example.budgetmanager.domain.category.CategoryRepository;
 import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.money.Money;
+import com.example.budgetmanager.domain.money.MoneyTotals;
+import com.example.budgetmanager.domain.rollup.CategoryTotalView;
 import com.example.budgetmanager.domain.transaction.Transaction;
 import com.example.budgetmanager.domain.transaction.TransactionRepository;
-import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.domain.transaction.TransactionView;
 import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.service.BudgetSpendChangedEvent;
+import com.example.budgetmanager.service.DataVersionService;
+import com.example.budgetmanager.service.MonthlyRollupService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Per-method latency, tagged with class and method by the TimedAspect
+@Timed(value = "app.service", histogram = true)
 @Service
 public class TransactionService {
 
@@ -27,112 +40,179 @@ public class TransactionService {
     private final UserRepository userRepository;
 
     private final BudgetRepository budgetRepository;
+    private final MonthlyRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersionService dataVersionService;
 
-    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository, UserRepository userRepository, BudgetRepository budgetRepository) {
+    @Value("${application.dashboard.mode:ROLLUP}")
+    private DashboardMode dashboardMode;
+
+    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository, UserRepository userRepository, BudgetRepository budgetRepository, MonthlyRollupService rollupService, ApplicationEventPublisher eventPublisher, DataVersionService dataVersionService) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.budgetRepository = budgetRepository;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.dataVersionService = dataVersionService;
     }
 
     @Transactional
-    public TransactionDto create(TransactionRequest request, String userEmail) {
-        User user = getUserByEmail(userEmail);
-        Category category = categoryRepository.findByIdAndUserId(request.categoryId(), user.getId())
+    public TransactionDto create(TransactionRequest request, Long userId) {
+        Category category = categoryRepository.findByIdAndUserId(request.categoryId(), userId)
                 .orElseThrow(() -> new AccessDeniedException("Category not found or you do not have permission."));
 
         Transaction transaction = new Transaction();
-        transaction.setUser(user);
+        transaction.setUser(userRepository.getReferenceById(userId));
         transaction.setCategory(category);
         transaction.setAmount(request.amount());
         transaction.setDescription(request.description());
         transaction.setTransactionDate(request.transactionDate());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        rollupService.recordTransaction(userId, category.getId(), savedTransaction.getTransactionDate(), savedTransaction.getAmount());
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(BudgetSpendChangedEvent.of(userId, category.getId(), savedTransaction.getTransactionDate()));
         return toDto(savedTransaction);
     }
 
     @Transactional(readOnly = true)
-    public List<TransactionDto> getTransactionsForUser(int year, int month, String userEmail) {
-        User user = getUserByEmail(userEmail);
+    public List<TransactionDto> getTransactionsForUser(int year, int month, Long userId) {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-        return transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startDate, endDate)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return transactionRepository.findViewsForPeriod(userId, startDate, endDate).stream()
+                .map(TransactionService::toDto)
+                .toList();
+    }
+
+    /**
+     * One page of the user's transactions between the given dates, newest first.
+     * Pass the previous page's nextCursor to continue; a null cursor starts at the newest row.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDto getTransactionPage(Long userId, LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        TransactionCursor after = cursor == null
+                ? new TransactionCursor(endDate.plusDays(1), Long.MAX_VALUE)
+                : TransactionCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TransactionDto> rows = transactionRepository.findPage(userId, startDate, endDate, after.transactionDate(), after.id(), Limit.of(size + 1)).stream()
+                .map(TransactionService::toDto)
+                .toList();
+        if (rows.size() <= size) {
+            return new TransactionPageDto(rows, null);
+        }
+        List<TransactionDto> items = rows.subList(0, size);
+        return new TransactionPageDto(List.copyOf(items), TransactionCursor.after(items.get(size - 1)).encode());
+    }
+
+    /**
+     * Hands every transaction between the given dates to the sink while the rows are read from a
+     * forward-only database cursor, so memory stays flat however many rows there are.
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactions(Long userId, LocalDate startDate, LocalDate endDate, Consumer<TransactionDto> sink) {
+        try (Stream<TransactionView> rows = transactionRepository.streamAll(userId, startDate, endDate)) {
+            rows.map(TransactionService::toDto).forEach(sink);
+        }
     }
 
     @Transactional
-    public void delete(Long id, String userEmail) {
-        User user = getUserByEmail(userEmail);
-        Transaction transaction = transactionRepository.findByIdAndUserId(id, user.getId())
+    public void delete(Long id, Long userId) {
+        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new AccessDeniedException("Transaction not found or you do not have permission."));
 
         transactionRepository.delete(transaction);
-    }
-
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found."));
+        rollupService.reverseTransaction(userId, transaction.getCategory().getId(), transaction.getTransactionDate(), transaction.getAmount());
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(BudgetSpendChangedEvent.of(userId, transaction.getCategory().getId(), transaction.getTransactionDate()));
     }
 
 
     @Transactional(readOnly = true)
-    public DashboardDto getDashboardSummary(int year, int month, String userEmail) {
-        User user = getUserByEmail(userEmail);
+    public DashboardDto getDashboardSummary(int year, int month, Long userId) {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-        // 1. Fetch all necessary data in one go
-        List<Transaction> transactions = transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startDate, endDate);
-        List<Budget> budgets = budgetRepository.findAllByUserIdAndMonth(user.getId(), startDate);
-
-        // 2. Calculate Total Income and Expense
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getCategory().getType() == CategoryType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpense = transactions.stream()
-                .filter(t -> t.getCategory().getType() == CategoryType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal netBalance = totalIncome.subtract(totalExpense);
-
-        // 3. Calculate Spending per Category
-        Map<String, BigDecimal> spendingMap = transactions.stream()
-                .filter(t -> t.getCategory().getType() == CategoryType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(),
-                        Collectors.mapping(Transaction::getAmount, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
-
-        List<DashboardDto.CategorySpending> spendingByCategory = spendingMap.entrySet().stream()
-                .map(entry -> new DashboardDto.CategorySpending(entry.getKey(), entry.getValue()))
-                .toList();
+        return switch (dashboardMode) {
+            case ROLLUP -> {
+                List<CategoryTotalView> totals = rollupService.getTotalsForMonth(userId, startDate);
+                yield summarize(totals, budgetStatus(budgetRepository.findViewsByUserIdAndMonth(userId, startDate), totals));
+            }
+            case AGGREGATE -> {
+                // Two round trips, both aggregated by the database
+                List<CategoryTotalView> totals = transactionRepository.sumByCategoryForPeriod(userId, startDate, endDate);
+                List<DashboardDto.BudgetStatus> budgetStatus = budgetRepository.findWithSpendForPeriod(userId, startDate, endDate).stream()
+                        .map(row -> toBudgetStatus(row.categoryName(), Money.cents(row.budgeted()), row.spent() != null ? Money.cents(row.spent()) : 0))
+                        .toList();
+                yield summarize(totals, budgetStatus);
+            }
+            case IN_MEMORY -> {
+                List<CategoryTotalView> totals = totalsByCategory(transactionRepository.findViewsForPeriod(userId, startDate, endDate));
+                yield summarize(totals, budgetStatus(budgetRepository.findViewsByUserIdAndMonth(userId, startDate), totals));
+            }
+        };
+    }
+
+    // Income, expense and per-category spending from one row per category; summed in cents
+    static DashboardDto summarize(List<CategoryTotalView> totals, List<DashboardDto.BudgetStatus> budgetStatus) {
+        long incomeCents = 0;
+        long expenseCents = 0;
+        List<DashboardDto.CategorySpending> spendingByCategory = new ArrayList<>();
+        for (CategoryTotalView total : totals) {
+            if (total.txCount() == 0) continue;
+            long cents = Money.cents(total.total());
+            if (total.categoryType() == CategoryType.INCOME) {
+                incomeCents = Math.addExact(incomeCents, cents);
+            } else {
+                expenseCents = Math.addExact(expenseCents, cents);
+                spendingByCategory.add(new DashboardDto.CategorySpending(total.categoryName(), total.total()));
+            }
+        }
+
+        return new DashboardDto(Money.toBigDecimal(incomeCents), Money.toBigDecimal(expenseCents),
+                Money.toBigDecimal(Math.subtractExact(incomeCents, expenseCents)), spendingByCategory, budgetStatus);
+    }
 
-        // 4. Calculate Budget Status
-        List<DashboardDto.BudgetStatus> budgetStatus = budgets.stream()
-                .map(budget -> {
-                    BigDecimal spent = spendingMap.getOrDefault(budget.getCategory().getName(), BigDecimal.ZERO);
-                    BigDecimal remaining = budget.getAmount().subtract(spent);
-                    return new DashboardDto.BudgetStatus(
-                            budget.getCategory().getName(),
-                            budget.getAmount(),
-                            spent,
-                            remaining
-                    );
-                })
+    // Matches budgets to the spend of their category
+    static List<DashboardDto.BudgetStatus> budgetStatus(List<BudgetView> budgets, List<CategoryTotalView> totals) {
+        MoneyTotals spending = new MoneyTotals(totals.size());
+        for (CategoryTotalView total : totals) {
+            if (total.categoryType() == CategoryType.EXPENSE) {
+                spending.put(total.categoryId(), Money.cents(total.total()));
+            }
+        }
+        return budgets.stream()
+                .map(budget -> toBudgetStatus(budget.categoryName(), Money.cents(budget.amount()), spending.centsOf(budget.categoryId())))
                 .toList();
+    }
+
+    // The in-memory equivalent of sumByCategoryForPeriod: sums cents per primitive category id,
+    // so only the first transaction of each category allocates
+    static List<CategoryTotalView> totalsByCategory(List<TransactionView> transactions) {
+        MoneyTotals totals = new MoneyTotals();
+        List<TransactionView> firstOfCategory = new ArrayList<>();
+        for (TransactionView t : transactions) {
+            int index = totals.add(t.categoryId(), Money.cents(t.amount()));
+            if (index == firstOfCategory.size()) firstOfCategory.add(t);
+        }
+        List<CategoryTotalView> views = new ArrayList<>(totals.size());
+        for (int i = 0; i < totals.size(); i++) {
+            TransactionView first = firstOfCategory.get(i);
+            views.add(new CategoryTotalView(first.categoryId(), first.categoryName(), first.categoryType(),
+                    Money.toBigDecimal(totals.cents(i)), totals.count(i)));
+        }
+        return List.copyOf(views);
+    }
 
-        return new DashboardDto(totalIncome, totalExpense, netBalance, spendingByCategory, budgetStatus);
+    private static DashboardDto.BudgetStatus toBudgetStatus(String categoryName, long budgetedCents, long spentCents) {
+        return new DashboardDto.BudgetStatus(categoryName, Money.toBigDecimal(budgetedCents), Money.toBigDecimal(spentCents),
+                Money.toBigDecimal(Math.subtractExact(budgetedCents, spentCents)));
     }
 
 
-    private TransactionDto toDto(Transaction transaction) {
+    static TransactionDto toDto(Transaction transaction) {
         return new TransactionDto(
                 transaction.getId(),
                 transaction.getCategory().getId(),
@@ -143,4 +223,9 @@ public class TransactionService {
                 transaction.getTransactionDate()
         );
     }
+
+    static TransactionDto toDto(TransactionView view) {
+        return new TransactionDto(view.id(), view.categoryId(), view.categoryName(), view.categoryType(),
+                view.amount(), view.description(), view.transactionDate());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.budgetmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for {@code @Async} work. Spring Boot still creates its own applicationTaskExecutor for
+ * Spring MVC async requests because {@code spring.task.execution.mode} is {@code force}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Bean
+    public ThreadPoolTaskExecutor budgetEvaluationExecutor(
+            @Value("${application.budget-check.event-workers:2}") int workers,
+            @Value("${application.budget-check.event-queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("budget-eval-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        // Never slow down the request thread: a dropped event is picked up by the scheduled safety-net run
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Budget evaluation queue is full, dropping event; the scheduled check will catch up."));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.budgetmanager.config;
+
+import com.example.budgetmanager.config.security.AuthenticatedUser;
+import com.example.budgetmanager.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Conditional GET for user data: the ETag is the user's data version, so an unchanged
+ * {@code If-None-Match} is answered with 304 before the controller runs any query.
+ * <p>
+ * The ETag also carries the user id (clients cache per URL, not per login) and the current day,
+ * because endpoints without explicit dates default to "this month" or "today".
+ */
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return true;
+        }
+
+        String etag = "\"" + user.id() + "-" + dataVersionService.current(user.id()) + "-" + LocalDate.now().toEpochDay() + "\"";
+        // Let the browser keep the response but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
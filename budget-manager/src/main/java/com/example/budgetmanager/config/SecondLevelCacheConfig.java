@@ -0,0 +1,60 @@
+package com.example.budgetmanager.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache: categories and budgets (see their {@code @Cache}
+ * annotations) and the query cache that lists them. They are Caffeine caches in this JVM, bounded
+ * by size and time to live; Hibernate updates or invalidates them on every write made through JPA.
+ * <p>
+ * The regions are per instance; changes made through other instances arrive over the
+ * {@link com.example.budgetmanager.config.invalidation.InvalidationBus}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${application.cache.categories.max-size:100000}") long categoriesSize,
+                                              @Value("${application.cache.budgets.max-size:100000}") long budgetsSize,
+                                              @Value("${application.cache.queries.max-size:20000}") long queriesSize,
+                                              @Value("${application.cache.ttl:PT1H}") Duration ttl) {
+        // A manager of its own, so application contexts sharing a JVM (tests) do not share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("budget-manager-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache("categories", region(categoriesSize, ttl));
+        cacheManager.createCache("budgets", region(budgetsSize, ttl));
+        // A cached entity query holds only ids, resolved through the entity regions, so it shares their TTL
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queriesSize, ttl));
+        // Last write per table, which cached query results are checked against: must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        // Hibernate's cache entries are immutable, so they are stored as is rather than copied on each access
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    }
+}
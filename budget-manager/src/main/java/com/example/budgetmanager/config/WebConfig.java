@@ -0,0 +1,30 @@
+package com.example.budgetmanager.config;
+
+import com.example.budgetmanager.service.DataVersionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataVersionService dataVersionService;
+
+    public WebConfig(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Reads whose result only changes when the user's data version does
+        registry.addInterceptor(new DataVersionEtagInterceptor(dataVersionService))
+                .addPathPatterns(
+                        "/api/v1/transactions",
+                        "/api/v1/transactions/page",
+                        "/api/v1/transactions/dashboard",
+                        "/api/v1/budgets",
+                        "/api/v1/categories",
+                        "/api/v1/analytics/**"
+                );
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.budgetmanager.config.datasource;
+
+import com.example.budgetmanager.config.invalidation.CacheInvalidationEvent;
+import com.example.budgetmanager.config.invalidation.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote recently, so their read-only transactions stay on the primary until
+ * replicas have had time to replay the write. The window should be above the usual replication lag.
+ * <p>
+ * Writes made through other instances are learned from the {@link InvalidationBus}, a moment after
+ * they commit, so the user's reads stay on the primary on every instance.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(@Value("${application.datasource.read-your-writes-window:PT5S}") Duration window,
+                               @Value("${application.datasource.read-your-writes-cache-size:100000}") long cacheSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Pins the user's reads to the primary for the window. Inside a transaction the window starts
+     * once it commits; a rolled back write pins nothing.
+     */
+    public void recordWrite(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        event.userVersions().keySet().forEach(userId -> recentWriters.put(userId, Boolean.TRUE));
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
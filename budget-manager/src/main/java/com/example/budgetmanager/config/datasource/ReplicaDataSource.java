@@ -0,0 +1,151 @@
+package com.example.budgetmanager.config.datasource;
+
+import com.example.budgetmanager.config.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: from one of the replica pools, chosen round
+ * robin or by the fewest active connections, and from the primary when the current user wrote
+ * recently or no replica can be reached. A replica that fails to hand out a connection is skipped
+ * for the retry interval.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final long retryAfterNanos;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter routedToReplica;
+    private final Counter routedForReadYourWrites;
+    private final Counter routedForFallback;
+
+    public ReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, Selection selection, Duration retryAfter,
+                             ReadYourWritesGuard readYourWritesGuard, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.routedToReplica = routedCounter(meterRegistry, "replica", "replica");
+        this.routedForReadYourWrites = routedCounter(meterRegistry, "primary", "read-your-writes");
+        this.routedForFallback = routedCounter(meterRegistry, "primary", "replica-unavailable");
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.read.routed")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(HikariDataSource::getConnection);
+    }
+
+    // Hikari pools only hold connections for their configured credentials, so these are opened
+    // outside the pool, to the database the pool connects to
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(pool -> DriverManager.getConnection(pool.getJdbcUrl(), username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        Long userId = currentUserId();
+        if (userId != null && readYourWritesGuard.wroteRecently(userId)) {
+            routedForReadYourWrites.increment();
+            return source.connect(primary);
+        }
+
+        long now = System.nanoTime();
+        for (Replica replica : candidates(now)) {
+            try {
+                Connection connection = source.connect(replica.pool);
+                routedToReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = now + retryAfterNanos;
+                log.warn("Replica pool {} is unavailable, reading from the next one or the primary: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        routedForFallback.increment();
+        return source.connect(primary);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private List<Replica> candidates(long now) {
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (now - replica.downUntil >= 0) available.add(replica);
+        }
+        if (available.size() <= 1) return available;
+
+        if (selection == Selection.LEAST_LOADED) {
+            available.sort(Comparator.comparingInt(Replica::activeConnections));
+            return available;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), available.size());
+        List<Replica> rotated = new ArrayList<>(available.size());
+        rotated.addAll(available.subList(start, available.size()));
+        rotated.addAll(available.subList(0, start));
+        return rotated;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(HikariDataSource pool) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        // System.nanoTime() before which the replica is skipped; a past value means available
+        private volatile long downUntil = System.nanoTime();
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean == null ? 0 : bean.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.budgetmanager.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replicas when {@code application.datasource.replica-urls} is set;
+ * without it the auto-configured single pool is used unchanged.
+ * <p>
+ * The application's DataSource is a {@link LazyConnectionDataSourceProxy}: a transaction's
+ * connection is only fetched at its first statement, after the transaction manager has marked
+ * it read-only, and read-only connections come from the {@link ReplicaDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty("application.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                               ReadYourWritesGuard readYourWritesGuard, MeterRegistry meterRegistry,
+                                               @Value("${application.datasource.replica-urls}") List<String> replicaUrls,
+                                               @Value("${application.datasource.replica-username:}") String username,
+                                               @Value("${application.datasource.replica-password:}") String password,
+                                               @Value("${application.datasource.replica-pool-size:10}") int poolSize,
+                                               @Value("${application.datasource.replica-connection-timeout:PT2S}") Duration connectionTimeout,
+                                               @Value("${application.datasource.replica-selection:ROUND_ROBIN}") ReplicaDataSource.Selection selection,
+                                               @Value("${application.datasource.replica-retry-after:PT30S}") Duration retryAfter) {
+        // Without replica credentials the replicas are reached with the primary's
+        boolean ownCredentials = !username.isBlank();
+        List<HikariDataSource> pools = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setUsername(ownCredentials ? username : properties.determineUsername());
+            config.setPassword(ownCredentials ? password : properties.determinePassword());
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            // A slow or missing replica should fail over to the primary quickly, and not stop startup
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(new HikariDataSource(config));
+        }
+        return new ReplicaDataSource(primaryDataSource, pools, selection, retryAfter, readYourWritesGuard, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        // Known up front, so the proxy does not open a connection just to find them out
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
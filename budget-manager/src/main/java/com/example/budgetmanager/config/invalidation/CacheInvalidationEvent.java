@@ -0,0 +1,19 @@
+package com.example.budgetmanager.config.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes made through other instances, as received by the {@link InvalidationBus}. With
+ * {@code flushAll} some changes may have been missed, and every cache should be dropped.
+ * User versions are the users' data versions after the change.
+ */
+public record CacheInvalidationEvent(boolean flushAll, Map<Long, Long> userVersions, Set<Entity> entities) {
+
+    public static CacheInvalidationEvent everything() {
+        return new CacheInvalidationEvent(true, Map.of(), Set.of());
+    }
+
+    public record Entity(String entityName, long id) {
+    }
+}
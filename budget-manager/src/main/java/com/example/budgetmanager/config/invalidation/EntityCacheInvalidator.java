@@ -0,0 +1,93 @@
+package com.example.budgetmanager.config.invalidation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the second-level cache of every instance in step. A committed insert, update or delete
+ * of a cached entity is announced on the {@link InvalidationBus}; entities other instances
+ * changed are evicted here, together with the cached query results.
+ * <p>
+ * Only writes through the persistence context are seen: a bulk or native write to a cached
+ * table needs to announce itself.
+ */
+@Component
+public class EntityCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final InvalidationBus invalidationBus;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, InvalidationBus invalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidationBus = invalidationBus;
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        Cache cache = sessionFactory.getCache();
+        if (event.flushAll()) {
+            cache.evictAllRegions();
+            return;
+        }
+        if (event.entities().isEmpty()) return;
+        event.entities().forEach(entity -> cache.evictEntityData(entity.entityName(), entity.id()));
+        // Cached results cannot be matched to the entities in them; this is as coarse as Hibernate's own per-table invalidation
+        cache.evictDefaultQueryRegion();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        announce(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        announce(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        announce(event.getPersister(), event.getId());
+    }
+
+    // Nothing was committed, so there is nothing to announce
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void announce(EntityPersister persister, Object id) {
+        // The cached entities all have Long ids
+        if (persister.canWriteToCache() && id instanceof Long entityId) {
+            invalidationBus.entityChanged(persister.getEntityName(), entityId);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.budgetmanager.config.invalidation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tells the other instances whose data and which cached entities changed, over Postgres
+ * LISTEN/NOTIFY on the primary, and publishes what they report as a {@link CacheInvalidationEvent}.
+ * <p>
+ * Changes are collected after commit and sent together once per coalesce window, so a burst of
+ * writes costs a few notifications instead of one per commit; a NOTIFY inside the write
+ * transactions would also serialize their commits. A burst too large to list is sent as a flush
+ * of everything.
+ * <p>
+ * Notifications sent while a node is not listening are lost, so after each (re)connect the node
+ * drops all of its caches, as it does when another node's message numbers skip. Changes still
+ * waiting to be sent when a node crashes are lost with it; the cache TTLs bound that case.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // NOTIFY payloads must stay below 8000 bytes; the rest is room for the message header
+    private static final int MAX_BODY_LENGTH = 7800;
+    private static final Duration IDLE_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration coalesceWindow;
+    private final int maxPending;
+    private final Duration reconnectDelay;
+
+    private final String node = UUID.randomUUID().toString();
+    private final Map<Long, Long> pendingUsers = new ConcurrentHashMap<>();
+    private final Set<CacheInvalidationEvent.Entity> pendingEntities = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingFlushAll = new AtomicBoolean();
+
+    // Only used by the bus thread
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    private long sequence;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public InvalidationBus(DataSource dataSource, ApplicationEventPublisher eventPublisher,
+                           @Value("${application.invalidation.enabled:true}") boolean enabled,
+                           @Value("${application.invalidation.channel:cache_invalidation}") String channel,
+                           @Value("${application.invalidation.coalesce-window:PT0.05S}") Duration coalesceWindow,
+                           @Value("${application.invalidation.max-pending:5000}") int maxPending,
+                           @Value("${application.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalidation channel must be a lower case SQL identifier: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.coalesceWindow = coalesceWindow;
+        this.maxPending = maxPending;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Announces the user's data version after a committed write. Call it after commit: a rolled
+     * back write must not be announced.
+     */
+    public void userChanged(Long userId, long version) {
+        if (enabled) pendingUsers.merge(userId, version, Math::max);
+    }
+
+    /**
+     * Announces a committed insert, update or delete of a second-level cached entity.
+     */
+    public void entityChanged(String entityName, long id) {
+        if (enabled) pendingEntities.add(new CacheInvalidationEvent.Entity(entityName, id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws SQLException {
+        if (!enabled) return;
+        // Its own connection, outside the pool, with the pool's settings: it stays open while the node runs
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        String url = pool.getJdbcUrl();
+        String username = pool.getUsername();
+        String password = pool.getPassword();
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("cache-invalidation").start(() -> run(url, username, password));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) thread.join(Duration.ofSeconds(5));
+    }
+
+    private void run(String url, String username, String password) {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {} as node {}.", channel, node);
+                lastSequences.clear();
+                // Whatever was sent while this node was not listening is lost
+                eventPublisher.publishEvent(CacheInvalidationEvent.everything());
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) break;
+                log.warn("Cache invalidation listener failed, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        int windowMillis = (int) Math.max(1, coalesceWindow.toMillis());
+        long lastSent = System.nanoTime();
+        long lastHeard = lastSent;
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(windowMillis);
+            long now = System.nanoTime();
+            if (received != null && received.length > 0) {
+                receive(received);
+                lastHeard = now;
+            } else if (now - lastHeard >= IDLE_CHECK_INTERVAL.toNanos()) {
+                // A silently dropped connection would otherwise just look quiet
+                if (!connection.isValid(5)) throw new SQLException("Listening connection is no longer valid.");
+                lastHeard = now;
+            }
+            if (now - lastSent >= coalesceWindow.toNanos()) {
+                send(connection);
+                lastSent = now;
+            }
+        }
+        // Shutting down: what this node changed last still goes out
+        send(connection);
+    }
+
+    private void send(Connection connection) throws SQLException {
+        boolean flushAll = pendingFlushAll.getAndSet(false);
+        Map<Long, Long> users = new HashMap<>();
+        for (Long userId : pendingUsers.keySet()) {
+            Long version = pendingUsers.get(userId);
+            // A newer version merged in meanwhile stays pending for the next send
+            if (version != null && pendingUsers.remove(userId, version)) users.put(userId, version);
+        }
+        List<CacheInvalidationEvent.Entity> entities = new ArrayList<>();
+        for (Iterator<CacheInvalidationEvent.Entity> it = pendingEntities.iterator(); it.hasNext(); ) {
+            entities.add(it.next());
+            it.remove();
+        }
+        if (!flushAll && users.isEmpty() && entities.isEmpty()) return;
+        if (users.size() + entities.size() > maxPending) flushAll = true;
+
+        List<String> bodies = flushAll ? List.of("\nF") : bodies(users, entities);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String body : bodies) {
+                statement.setString(1, channel);
+                statement.setString(2, node + " " + (sequence + 1) + body);
+                statement.execute();
+                sequence++;
+            }
+        } catch (SQLException e) {
+            // Sent again after the reconnect; the messages that did go out are harmless to repeat
+            if (flushAll) {
+                pendingFlushAll.set(true);
+            } else {
+                users.forEach((userId, version) -> pendingUsers.merge(userId, version, Math::max));
+                pendingEntities.addAll(entities);
+            }
+            throw e;
+        }
+    }
+
+    // One line per change, split over as many notifications as needed
+    private static List<String> bodies(Map<Long, Long> users, List<CacheInvalidationEvent.Entity> entities) {
+        List<String> lines = new ArrayList<>(users.size() + entities.size());
+        users.forEach((userId, version) -> lines.add("U " + userId + " " + version));
+        entities.forEach(entity -> lines.add("E " + entity.entityName() + " " + entity.id()));
+
+        List<String> bodies = new ArrayList<>();
+        StringBuilder body = new StringBuilder();
+        for (String line : lines) {
+            if (body.length() + line.length() + 1 > MAX_BODY_LENGTH) {
+                bodies.add(body.toString());
+                body.setLength(0);
+            }
+            body.append('\n').append(line);
+        }
+        bodies.add(body.toString());
+        return bodies;
+    }
+
+    private void receive(PGNotification[] notifications) {
+        boolean flushAll = false;
+        Map<Long, Long> users = new HashMap<>();
+        Set<CacheInvalidationEvent.Entity> entities = new HashSet<>();
+        for (PGNotification notification : notifications) {
+            String[] lines = notification.getParameter().split("\n");
+            String[] header = lines[0].split(" ");
+            if (header[0].equals(node)) continue;
+            try {
+                long messageSequence = Long.parseLong(header[1]);
+                Long previous = lastSequences.put(header[0], messageSequence);
+                if (previous != null && messageSequence != previous + 1) {
+                    log.warn("Missed cache invalidations from node {} ({} after {}), dropping all caches.", header[0], messageSequence, previous);
+                    flushAll = true;
+                }
+                for (int i = 1; i < lines.length; i++) {
+                    String[] fields = lines[i].split(" ");
+                    switch (fields[0]) {
+                        case "F" -> flushAll = true;
+                        case "U" -> users.merge(Long.parseLong(fields[1]), Long.parseLong(fields[2]), Math::max);
+                        case "E" -> entities.add(new CacheInvalidationEvent.Entity(fields[1], Long.parseLong(fields[2])));
+                        default -> throw new IllegalArgumentException("Unknown line: " + lines[i]);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unreadable cache invalidation message, dropping all caches: {}", e.getMessage());
+                flushAll = true;
+            }
+        }
+        if (flushAll) {
+            eventPublisher.publishEvent(CacheInvalidationEvent.everything());
+        } else if (!users.isEmpty() || !entities.isEmpty()) {
+            eventPublisher.publishEvent(new CacheInvalidationEvent(false, users, entities));
+        }
+    }
+}
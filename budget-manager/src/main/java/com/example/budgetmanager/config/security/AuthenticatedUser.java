@@ -0,0 +1,34 @@
+package com.example.budgetmanager.config.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built straight from verified JWT claims, so authenticating a request needs no
+ * database lookup. Controllers receive it through {@code @AuthenticationPrincipal}.
+ */
+public record AuthenticatedUser(Long id, String email) implements UserDetails {
+
+    public static AuthenticatedUser from(JwtClaims claims) {
+        return new AuthenticatedUser(claims.userId(), claims.subject());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    // Never needed for JWT authentication and deliberately not carried around
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+}
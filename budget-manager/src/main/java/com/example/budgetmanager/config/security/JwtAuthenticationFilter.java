@@ -1,6 +1,7 @@
 package com.example.budgetmanager.config.security;
 
-import com.example.budgetmanager.config.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,23 +9,34 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.validTokenTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    // Includes verified-token cache hits, so the histogram shows how often the signature check is skipped
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Time to verify a bearer token and read its claims")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -36,7 +48,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // 1. Check if the Authorization header is present and correctly formatted
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,25 +58,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 2. Extract the JWT from the header
         jwt = authHeader.substring(7);
 
-        // 3. Extract the user's email (subject) from the token
-        userEmail = jwtService.extractUsername(jwt);
-
-        // 4. If email is present and the user is not already authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        // 3. Verify the token once and read its claims (signature, expiry and subject in one pass)
+        long startNanos = System.nanoTime();
+        Optional<JwtClaims> claims = jwtService.validate(jwt);
+        (claims.isPresent() ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
 
-            // 5. If the token is valid, update the Security Context
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null, // We don't need credentials
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        // 4. If the token is valid and the user is not already authenticated, update the Security Context.
+        //    The principal is built from the verified claims, so no user lookup is needed.
+        if (claims.isPresent() && claims.get().userId() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = AuthenticatedUser.from(claims.get());
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null, // We don't need credentials
+                    principal.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
-        // 6. Pass the request along the filter chain
+        // 5. Pass the request along the filter chain
         filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
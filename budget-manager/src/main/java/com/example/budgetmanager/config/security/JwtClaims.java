@@ -0,0 +1,13 @@
+package com.example.budgetmanager.config.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a token that has already been verified by {@link JwtService#validate}.
+ */
+public record JwtClaims(String subject, Long userId, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.budgetmanager.config.security;
 
 import com.example.budgetmanager.domain.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,27 +14,37 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private final long jwtExpiration;
+
+    // Built once: decoding the secret and building the parser are not free, and both are immutable
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    // Tokens that already passed signature verification, dropped when the token itself expires.
+    // Null when disabled with a cache size of 0.
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtService(@Value("${application.security.jwt.secret-key}") String secretKey,
+                      @Value("${application.security.jwt.expiration}") long jwtExpiration,
+                      @Value("${application.security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = verifiedCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, JwtClaims>creating((token, claims) ->
+                        Duration.between(Instant.now(), claims.expiresAt())))
+                .build();
     }
 
     public String generateToken(User user) {
@@ -45,35 +60,43 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), Jwts.SIG.HS256)
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, String userEmail) {
-        final String username = extractUsername(token);
-        return (username.equals(userEmail)) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the signature and expiry of a token exactly once and returns its claims,
+     * or empty if the token is malformed, tampered with or expired.
+     */
+    public Optional<JwtClaims> validate(String token) {
+        JwtClaims cached = verifiedTokens == null ? null : verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            // The cache may hand out an entry a moment after expiry, so re-check
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+
+        JwtClaims claims;
+        try {
+            claims = toJwtClaims(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.subject() == null || claims.expiresAt() == null || claims.isExpired()) {
+            return Optional.empty();
+        }
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return Optional.of(claims);
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static JwtClaims toJwtClaims(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                claims.getSubject(),
+                userId == null ? null : userId.longValue(),
+                expiration == null ? null : expiration.toInstant()
+        );
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,11 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 
+/**
+ * Loads user records by email for Spring Security. Nothing in the application calls it:
+ * requests authenticate from their JWT claims (see {@link AuthenticatedUser}) and login checks
+ * the password itself. It stays a bean so Spring Boot does not set up its generated default user.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
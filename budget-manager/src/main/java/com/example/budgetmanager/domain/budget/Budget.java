@@ -3,11 +3,14 @@ package com.example.budgetmanager.domain.budget;
 import com.example.budgetmanager.domain.category.Category;
 import com.example.budgetmanager.domain.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
 @Table(name = "budgets", uniqueConstraints = {
         // A user can only have one budget per category for a given month
         @UniqueConstraint(columnNames = {"user_id", "category_id", "month"})
@@ -1,6 +1,12 @@
 package com.example.budgetmanager.domain.budget;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -8,5 +14,51 @@ import java.util.Optional;
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserIdAndCategoryIdAndMonth(Long userId, Long categoryId, LocalDate month);
 
-    List<Budget> findAllByUserIdAndMonth(Long userId, LocalDate month);
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.budget.BudgetView(b.id, c.id, c.name, b.amount, b.month)
+            FROM Budget b JOIN b.category c
+            WHERE b.user.id = :userId AND b.month = :month
+            ORDER BY c.name
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<BudgetView> findViewsByUserIdAndMonth(Long userId, LocalDate month);
+
+    // The user's budgets for the month with what was spent in each category; spent is null when nothing was
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.budget.BudgetSpendView(b.id, b.user.id, c.id, c.name, b.amount, SUM(t.amount))
+            FROM Budget b
+            JOIN b.category c
+            LEFT JOIN Transaction t ON t.category = c AND t.transactionDate BETWEEN :startDate AND :endDate
+            WHERE b.user.id = :userId AND b.month = :startDate
+            GROUP BY b.id, b.user.id, c.id, c.name, b.amount
+            ORDER BY c.name
+            """)
+    List<BudgetSpendView> findWithSpendForPeriod(Long userId, LocalDate startDate, LocalDate endDate);
+
+    // Budgets of the month (for a user id range) whose rollup spend reached minPercent of the budget, keyset-paged by budget id
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.budget.BudgetSpendView(b.id, b.user.id, c.id, c.name, b.amount, r.total)
+            FROM Budget b
+            JOIN b.category c
+            JOIN MonthlyCategoryTotal r ON r.userId = b.user.id AND r.categoryId = c.id AND r.month = b.month
+            WHERE b.month = :month
+              AND b.user.id BETWEEN :fromUserId AND :toUserId
+              AND b.id > :afterId
+              AND b.amount > 0
+              AND r.total * 100 >= b.amount * :minPercent
+            ORDER BY b.id
+            """)
+    List<BudgetSpendView> findCrossedThresholds(LocalDate month, Long fromUserId, Long toUserId, Long afterId, int minPercent, Limit limit);
+
+    @Query("SELECT new com.example.budgetmanager.domain.budget.UserIdRange(MIN(b.user.id), MAX(b.user.id)) FROM Budget b WHERE b.month = :month")
+    UserIdRange findUserIdRangeForMonth(LocalDate month);
+
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.budget.BudgetSpendView(b.id, b.user.id, c.id, c.name, b.amount, r.total)
+            FROM Budget b
+            JOIN b.category c
+            JOIN MonthlyCategoryTotal r ON r.userId = b.user.id AND r.categoryId = c.id AND r.month = b.month
+            WHERE b.user.id = :userId AND c.id = :categoryId AND b.month = :month
+            """)
+    Optional<BudgetSpendView> findSpendForBudget(Long userId, Long categoryId, LocalDate month);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.budgetmanager.domain.budget;
+
+import java.math.BigDecimal;
+
+public record BudgetSpendView(
+        Long budgetId,
+        Long userId,
+        Long categoryId,
+        String categoryName,
+        BigDecimal budgeted,
+        BigDecimal spent
+) {
+}
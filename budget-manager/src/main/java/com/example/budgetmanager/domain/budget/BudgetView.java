@@ -0,0 +1,13 @@
+package com.example.budgetmanager.domain.budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BudgetView(
+        Long id,
+        Long categoryId,
+        String categoryName,
+        BigDecimal amount,
+        LocalDate month
+) {
+}
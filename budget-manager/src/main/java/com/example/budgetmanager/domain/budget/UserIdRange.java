@@ -0,0 +1,4 @@
+package com.example.budgetmanager.domain.budget;
+
+public record UserIdRange(Long minUserId, Long maxUserId) {
+}
@@ -4,10 +4,13 @@ import com.example.budgetmanager.domain.budget.Budget;
 import com.example.budgetmanager.domain.transaction.Transaction;
 import com.example.budgetmanager.domain.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Table(name = "categories", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "name"})
 })
@@ -1,14 +1,21 @@
 package com.example.budgetmanager.domain.category;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findAllByUserId(Long userId);
 
-    Optional<Category> findByIdAndUserId(Long id, Long userId);
+    // Looked up by id so the second-level cache can answer it; the owner check reads the user id without loading the user
+    default Optional<Category> findByIdAndUserId(Long id, Long userId) {
+        return findById(id).filter(category -> category.getUser().getId().equals(userId));
+    }
 
     boolean existsByNameAndUserId(String name, Long userId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.budgetmanager.domain.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount in minor units (cents). Every stored amount is {@code numeric(…, 2)}, so it converts
+ * to and from a {@code long} exactly; aggregation and threshold checks work on the long and only
+ * API and database values are BigDecimal.
+ * <p>
+ * Hot loops use the static {@code cents}/{@code toBigDecimal} helpers on plain longs; the record is
+ * for code that wants a typed value.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money of(BigDecimal amount) {
+        return new Money(cents(amount));
+    }
+
+    /**
+     * Exact cents of an amount; throws ArithmeticException if it has more than two decimals or
+     * does not fit in a long.
+     */
+    public static long cents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(cents);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Whether this amount is at least {@code percent} percent of {@code base}, compared exactly
+     * in integers (no division, no rounding).
+     */
+    public boolean isAtLeastPercentOf(int percent, Money base) {
+        return atLeastPercent(cents, percent, base.cents);
+    }
+
+    public static boolean atLeastPercent(long cents, int percent, long baseCents) {
+        return Math.multiplyExact(cents, 100L) >= Math.multiplyExact(baseCents, (long) percent);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.budgetmanager.domain.money;
+
+import java.util.Arrays;
+
+/**
+ * Running cents total and count per primitive long key (e.g. a category id), for summing many
+ * amounts into a few groups. Open addressing over parallel arrays: adding to an existing key
+ * allocates nothing and boxes nothing. Keys are reported in first-seen order. Not thread-safe.
+ */
+public final class MoneyTotals {
+
+    private static final int NO_ENTRY = -1;
+
+    // Hash slots hold the index of the entry, or NO_ENTRY
+    private int[] slots;
+    private long[] keys;
+    private long[] cents;
+    private long[] counts;
+    private int size;
+
+    public MoneyTotals() {
+        this(16);
+    }
+
+    public MoneyTotals(int expectedKeys) {
+        int capacity = Math.max(4, expectedKeys);
+        this.keys = new long[capacity];
+        this.cents = new long[capacity];
+        this.counts = new long[capacity];
+        this.slots = newSlots(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds an amount to the key's total and returns the key's entry index; an index equal to
+     * {@code size() - 1} with {@code count(index) == 1} means the key was just seen for the first time.
+     */
+    public int add(long key, long amountCents) {
+        int index = indexOf(key, true);
+        cents[index] = Math.addExact(cents[index], amountCents);
+        counts[index]++;
+        return index;
+    }
+
+    /**
+     * Sets the key's total without counting an amount, e.g. when loading already summed values.
+     */
+    public void put(long key, long totalCents) {
+        cents[indexOf(key, true)] = totalCents;
+    }
+
+    public boolean contains(long key) {
+        return indexOf(key, false) != NO_ENTRY;
+    }
+
+    // Total of the key, or 0 if it was never added
+    public long centsOf(long key) {
+        int index = indexOf(key, false);
+        return index == NO_ENTRY ? 0 : cents[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long key(int index) {
+        return keys[index];
+    }
+
+    public long cents(int index) {
+        return cents[index];
+    }
+
+    public long count(int index) {
+        return counts[index];
+    }
+
+    private int indexOf(long key, boolean insert) {
+        int mask = slots.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int index = slots[slot];
+            if (index == NO_ENTRY) {
+                if (!insert) return NO_ENTRY;
+                return insert(slot, key);
+            }
+            if (keys[index] == key) return index;
+        }
+    }
+
+    private int insert(int slot, long key) {
+        if (size == keys.length) {
+            grow();
+            return indexOf(key, true);
+        }
+        int index = size++;
+        keys[index] = key;
+        slots[slot] = index;
+        return index;
+    }
+
+    // Entries stay in place; only the hash table is rebuilt
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        slots = newSlots(tableSizeFor(capacity));
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = mix(keys[index]) & mask;
+            while (slots[slot] != NO_ENTRY) slot = (slot + 1) & mask;
+            slots[slot] = index;
+        }
+    }
+
+    // At most half full, so probe sequences stay short
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(entries * 2 - 1) << 1;
+    }
+
+    private static int[] newSlots(int length) {
+        int[] slots = new int[length];
+        Arrays.fill(slots, NO_ENTRY);
+        return slots;
+    }
+
+    // Package-private so tests can pick keys that share a slot
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -4,9 +4,14 @@ import com.example.budgetmanager.domain.user.User;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", uniqueConstraints = {
+        // Dedupe key for threshold alerts: one notification per budget, month and threshold.
+        // Rows without a budget (NULLs) never conflict, so other notification types are unaffected.
+        @UniqueConstraint(name = "uk_notifications_threshold_key", columnNames = {"user_id", "budget_id", "month", "threshold"})
+})
 public class Notification {
 
     @Id
@@ -30,6 +35,16 @@ public class Notification {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    // First day of the budget month the alert refers to
+    @Column
+    private LocalDate month;
+
+    @Column
+    private Integer threshold;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -82,4 +97,28 @@ public class Notification {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public Integer getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
 }
\ No newline at end of file
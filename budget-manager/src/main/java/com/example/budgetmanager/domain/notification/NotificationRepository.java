@@ -1,10 +1,84 @@
 package com.example.budgetmanager.domain.notification;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findAllByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.notification.NotificationView(n.id, n.message, n.type, n.isRead, n.createdAt)
+            FROM Notification n
+            WHERE n.user.id = :userId
+            ORDER BY n.createdAt DESC
+            """)
+    List<NotificationView> findViewsByUserId(Long userId);
+
+    // One inbox page, newest first: the user's notifications with an id below the cursor
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.notification.NotificationView(n.id, n.message, n.type, n.isRead, n.createdAt)
+            FROM Notification n
+            WHERE n.user.id = :userId AND n.id < :beforeId
+            ORDER BY n.id DESC
+            """)
+    List<NotificationView> findPage(Long userId, Long beforeId, Limit limit);
+
+    @Query(value = "SELECT unread FROM notification_counters WHERE user_id = :userId", nativeQuery = true)
+    Optional<Long> findUnreadCount(Long userId);
+
+    // Notifications created after the given one, oldest first, for resuming an event stream.
+    // Not read-only, so it runs on the primary: a lagging replica could miss notifications the
+    // stream already delivered, and the resumed stream would skip them
+    @Transactional
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.notification.NotificationView(n.id, n.message, n.type, n.isRead, n.createdAt)
+            FROM Notification n
+            WHERE n.user.id = :userId AND n.id > :afterId
+            ORDER BY n.id
+            """)
+    List<NotificationView> findViewsByUserIdAfter(Long userId, Long afterId, Limit limit);
+
+    // Returns the new id, or empty if a notification with the same key already exists.
+    // The unread counter is incremented in the same statement, only when a row was inserted.
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO notifications (user_id, budget_id, month, threshold, message, type, is_read, created_at)
+                VALUES (:userId, :budgetId, :month, :threshold, :message, :type, false, :createdAt)
+                ON CONFLICT (user_id, budget_id, month, threshold) DO NOTHING
+                RETURNING id
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, unread)
+                SELECT :userId, 1 FROM inserted
+                ON CONFLICT (user_id) DO UPDATE SET unread = notification_counters.unread + 1
+            )
+            SELECT id FROM inserted
+            """, nativeQuery = true)
+    Optional<Long> insertThresholdIfAbsent(Long userId, Long budgetId, LocalDate month, int threshold, String message, String type, Instant createdAt);
+
+    // Marks the user's unread notifications with ids in [fromId, toId] as read and decrements the
+    // unread counter by the same amount, in one statement. Returns how many were marked.
+    @Query(value = """
+            WITH marked AS (
+                UPDATE notifications SET is_read = true
+                WHERE user_id = :userId AND id BETWEEN :fromId AND :toId AND NOT is_read
+                RETURNING id
+            ), counted AS (
+                UPDATE notification_counters SET unread = unread - (SELECT count(*) FROM marked)
+                WHERE user_id = :userId
+            )
+            SELECT count(*) FROM marked
+            """, nativeQuery = true)
+    long markRead(Long userId, Long fromId, Long toId);
 
-    boolean existsByUserIdAndMessage(Long userId, String message);
-}
\ No newline at end of file
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.notification.ThresholdKey(n.budgetId, n.threshold)
+            FROM Notification n
+            WHERE n.month = :month AND n.user.id BETWEEN :fromUserId AND :toUserId AND n.budgetId IS NOT NULL
+            """)
+    List<ThresholdKey> findThresholdKeys(LocalDate month, Long fromUserId, Long toUserId);
+}
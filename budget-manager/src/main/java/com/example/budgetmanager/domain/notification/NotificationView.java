@@ -0,0 +1,12 @@
+package com.example.budgetmanager.domain.notification;
+
+import java.time.Instant;
+
+public record NotificationView(
+        Long id,
+        String message,
+        NotificationType type,
+        boolean isRead,
+        Instant createdAt
+) {
+}
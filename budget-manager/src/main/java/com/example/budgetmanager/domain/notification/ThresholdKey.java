@@ -0,0 +1,4 @@
+package com.example.budgetmanager.domain.notification;
+
+public record ThresholdKey(Long budgetId, Integer threshold) {
+}
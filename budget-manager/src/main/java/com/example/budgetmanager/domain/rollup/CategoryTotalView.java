@@ -0,0 +1,14 @@
+package com.example.budgetmanager.domain.rollup;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+
+import java.math.BigDecimal;
+
+public record CategoryTotalView(
+        Long categoryId,
+        String categoryName,
+        CategoryType categoryType,
+        BigDecimal total,
+        long txCount
+) {
+}
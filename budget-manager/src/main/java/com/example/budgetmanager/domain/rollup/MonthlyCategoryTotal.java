@@ -0,0 +1,76 @@
+package com.example.budgetmanager.domain.rollup;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running total of a user's transactions for one category in one month.
+ * Rows are maintained incrementally by {@link MonthlyCategoryTotalRepository#applyDelta}
+ * whenever a transaction is created or deleted, so readers never need to scan {@code transactions}.
+ */
+@Entity
+@IdClass(MonthlyCategoryTotalId.class)
+@Table(name = "monthly_category_totals")
+public class MonthlyCategoryTotal {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // First day of the month, same convention as Budget.month
+    @Id
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long txCount;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getTxCount() {
+        return txCount;
+    }
+
+    public void setTxCount(long txCount) {
+        this.txCount = txCount;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.budgetmanager.domain.rollup;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+public record MonthlyCategoryTotalId(Long userId, Long categoryId, LocalDate month) implements Serializable {
+}
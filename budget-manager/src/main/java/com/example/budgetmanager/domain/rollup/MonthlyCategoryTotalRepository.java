@@ -0,0 +1,72 @@
+package com.example.budgetmanager.domain.rollup;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// The native writes name the table they touch: without it Hibernate assumes any table changed and
+// empties the whole second-level and query cache on every transaction write
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, MonthlyCategoryTotalId> {
+
+    // Relative update so concurrent writers for the same row never overwrite each other's delta
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_category_totals"))
+    @Query(value = """
+            INSERT INTO monthly_category_totals (user_id, category_id, month, total, tx_count)
+            VALUES (:userId, :categoryId, :month, :amount, :count)
+            ON CONFLICT (user_id, category_id, month)
+            DO UPDATE SET total = monthly_category_totals.total + EXCLUDED.total,
+                          tx_count = monthly_category_totals.tx_count + EXCLUDED.tx_count
+            """, nativeQuery = true)
+    void applyDelta(Long userId, Long categoryId, LocalDate month, BigDecimal amount, long count);
+
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.rollup.CategoryTotalView(c.id, c.name, c.type, r.total, r.txCount)
+            FROM MonthlyCategoryTotal r JOIN Category c ON c.id = r.categoryId
+            WHERE r.userId = :userId AND r.month = :month
+            """)
+    List<CategoryTotalView> findAllForMonth(Long userId, LocalDate month);
+
+    // Every category's total for each month in [fromMonth, toMonth]; months without activity have no row
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.rollup.MonthlyTotalView(r.month, c.id, c.name, c.type, r.total, r.txCount)
+            FROM MonthlyCategoryTotal r JOIN Category c ON c.id = r.categoryId
+            WHERE r.userId = :userId AND r.month BETWEEN :fromMonth AND :toMonth
+            ORDER BY r.month
+            """)
+    List<MonthlyTotalView> findAllForRange(Long userId, LocalDate fromMonth, LocalDate toMonth);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_category_totals"))
+    @Query(value = """
+            DELETE FROM monthly_category_totals
+            WHERE (CAST(:userId AS bigint) IS NULL OR user_id = :userId)
+              AND month BETWEEN :fromMonth AND :toMonth
+            """, nativeQuery = true)
+    int deleteRange(Long userId, LocalDate fromMonth, LocalDate toMonth);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_category_totals"))
+    @Query(value = """
+            INSERT INTO monthly_category_totals (user_id, category_id, month, total, tx_count)
+            SELECT t.user_id, t.category_id, CAST(date_trunc('month', t.transaction_date) AS date), SUM(t.amount), COUNT(*)
+            FROM transactions t
+            WHERE (CAST(:userId AS bigint) IS NULL OR t.user_id = :userId)
+              AND t.transaction_date >= :fromMonth AND t.transaction_date < :toMonthExclusive
+            GROUP BY t.user_id, t.category_id, CAST(date_trunc('month', t.transaction_date) AS date)
+            ON CONFLICT (user_id, category_id, month)
+            DO UPDATE SET total = EXCLUDED.total, tx_count = EXCLUDED.tx_count
+            """, nativeQuery = true)
+    int rebuildRange(Long userId, LocalDate fromMonth, LocalDate toMonthExclusive);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryTotal r WHERE r.categoryId = :categoryId")
+    void deleteAllByCategoryId(Long categoryId);
+}
@@ -0,0 +1,16 @@
+package com.example.budgetmanager.domain.rollup;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record MonthlyTotalView(
+        LocalDate month,
+        Long categoryId,
+        String categoryName,
+        CategoryType categoryType,
+        BigDecimal total,
+        long txCount
+) {
+}
@@ -12,8 +12,10 @@ import java.time.LocalDate;
 @Table(name = "transactions")
 public class Transaction {
 
+    // Pooled sequence ids let Hibernate (and the bulk importer) batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
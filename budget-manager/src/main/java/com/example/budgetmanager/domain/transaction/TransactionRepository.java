@@ -1,13 +1,58 @@
 package com.example.budgetmanager.domain.transaction;
 
+import com.example.budgetmanager.domain.rollup.CategoryTotalView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
-    List<Transaction> findAllByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+    // Single join straight into the view, so listing a period costs one statement however many categories it spans
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.transaction.TransactionView(t.id, c.id, c.name, c.type, t.amount, t.description, t.transactionDate)
+            FROM Transaction t JOIN t.category c
+            WHERE t.user.id = :userId AND t.transactionDate BETWEEN :startDate AND :endDate
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<TransactionView> findViewsForPeriod(Long userId, LocalDate startDate, LocalDate endDate);
+
+    // Per-category sums for the dashboard, computed by the database
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.rollup.CategoryTotalView(c.id, c.name, c.type, SUM(t.amount), COUNT(t))
+            FROM Transaction t JOIN t.category c
+            WHERE t.user.id = :userId AND t.transactionDate BETWEEN :startDate AND :endDate
+            GROUP BY c.id, c.name, c.type
+            """)
+    List<CategoryTotalView> sumByCategoryForPeriod(Long userId, LocalDate startDate, LocalDate endDate);
+
+    // Keyset page: rows strictly after (afterDate, afterId) in (transactionDate DESC, id DESC) order
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.transaction.TransactionView(t.id, c.id, c.name, c.type, t.amount, t.description, t.transactionDate)
+            FROM Transaction t JOIN t.category c
+            WHERE t.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+              AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId))
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    List<TransactionView> findPage(Long userId, LocalDate startDate, LocalDate endDate, LocalDate afterDate, Long afterId, Limit limit);
+
+    // Forward-only cursor; the fetch size only takes effect inside a transaction on PostgreSQL
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.example.budgetmanager.domain.transaction.TransactionView(t.id, c.id, c.name, c.type, t.amount, t.description, t.transactionDate)
+            FROM Transaction t JOIN t.category c
+            WHERE t.user.id = :userId AND t.transactionDate BETWEEN :startDate AND :endDate
+            ORDER BY t.transactionDate DESC, t.id DESC
+            """)
+    Stream<TransactionView> streamAll(Long userId, LocalDate startDate, LocalDate endDate);
+}
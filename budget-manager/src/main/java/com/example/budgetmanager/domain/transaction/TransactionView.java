@@ -0,0 +1,17 @@
+package com.example.budgetmanager.domain.transaction;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionView(
+        Long id,
+        Long categoryId,
+        String categoryName,
+        CategoryType categoryType,
+        BigDecimal amount,
+        String description,
+        LocalDate transactionDate
+) {
+}
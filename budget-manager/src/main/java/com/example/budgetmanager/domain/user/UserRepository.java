@@ -1,10 +1,14 @@
 package com.example.budgetmanager.domain.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Not read-only, so it runs on the primary: a user can log in right after registering even
+    // while read-only transactions go to a replica
+    @Transactional
     Optional<User> findByEmail(String email);
 }
@@ -1,101 +1,189 @@
 package com.example.budgetmanager.service;
 
-import com.example.budgetmanager.domain.budget.Budget;
 import com.example.budgetmanager.domain.budget.BudgetRepository;
-import com.example.budgetmanager.domain.notification.Notification;
+import com.example.budgetmanager.domain.budget.BudgetSpendView;
+import com.example.budgetmanager.domain.budget.UserIdRange;
 import com.example.budgetmanager.domain.notification.NotificationRepository;
-import com.example.budgetmanager.domain.notification.NotificationType;
-import com.example.budgetmanager.domain.transaction.Transaction;
-import com.example.budgetmanager.domain.transaction.TransactionRepository;
-import com.example.budgetmanager.domain.user.User;
-import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.domain.notification.ThresholdKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
 
 @Service
 public class BudgetCheckService {
 
     private static final Logger log = LoggerFactory.getLogger(BudgetCheckService.class);
-    private final UserRepository userRepository;
+
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.001;
+
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
     private final NotificationRepository notificationRepository;
-
-    public BudgetCheckService(UserRepository userRepository, BudgetRepository budgetRepository, TransactionRepository transactionRepository, NotificationRepository notificationRepository) {
-        this.userRepository = userRepository;
+    private final BudgetThresholdNotifier notifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardedJobRunner jobRunner;
+
+    private final Timer runTimer;
+    private final Counter usersProcessed;
+    private final Counter budgetsEvaluated;
+
+    @Value("${application.budget-check.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${application.budget-check.shards:16}")
+    private int shardCount;
+
+    public BudgetCheckService(BudgetRepository budgetRepository, NotificationRepository notificationRepository, BudgetThresholdNotifier notifier, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.budget-check.workers:4}") int workers,
+                              @Value("${application.budget-check.virtual-threads:false}") boolean virtualThreads,
+                              @Value("${application.budget-check.max-attempts:3}") int maxAttempts,
+                              @Value("${application.budget-check.retry-backoff:PT1S}") Duration retryBackoff) {
         this.budgetRepository = budgetRepository;
-        this.transactionRepository = transactionRepository;
         this.notificationRepository = notificationRepository;
+        this.notifier = notifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = new ShardedJobRunner("budget-check", workers, virtualThreads, maxAttempts, retryBackoff);
+
+        this.runTimer = Timer.builder("budget.check.run")
+                .description("Duration of a scheduled budget check run")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.usersProcessed = Counter.builder("budget.check.users")
+                .description("Users with at least one budget over the lowest threshold in a scheduled check")
+                .register(meterRegistry);
+        this.budgetsEvaluated = Counter.builder("budget.check.budgets.evaluated")
+                .description("Budgets over the lowest threshold that were evaluated")
+                .register(meterRegistry);
+        // Progress of the running (or last) check; per-shard timings are in the log
+        shardGauge(meterRegistry, "total", ShardedJobRunner.Progress::totalShards);
+        shardGauge(meterRegistry, "completed", ShardedJobRunner.Progress::completedShards);
+        shardGauge(meterRegistry, "failed", ShardedJobRunner.Progress::failedShards);
     }
 
-    // This cron expression means "run at 9:00 AM every day"
-    @Scheduled(cron = "0 * * * * ?")
-    @Transactional
+    // Safety net only: transaction and budget writes are evaluated right away by BudgetThresholdEvaluator
+    @Scheduled(cron = "${application.budget-check.cron:0 0 * * * ?}")
     public void checkBudgetsAndCreateNotifications() {
-        log.info("Starting daily budget check job...");
-        List<User> users = userRepository.findAll();
+        log.info("Starting budget check job...");
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
 
-        for (User user : users) {
-            processBudgetsForUser(user);
+        UserIdRange range = budgetRepository.findUserIdRangeForMonth(monthStart);
+        if (range == null || range.minUserId() == null) {
+            log.info("Finished budget check job: no budgets for {}.", monthStart);
+            return;
         }
-        log.info("Finished daily budget check job.");
-    }
-
-    private void processBudgetsForUser(User user) {
-        LocalDate today = LocalDate.now();
-        LocalDate monthStart = today.withDayOfMonth(1);
-        List<Budget> budgets = budgetRepository.findAllByUserIdAndMonth(user.getId(), monthStart);
 
-        if (budgets.isEmpty()) return;
-
-        List<Transaction> transactions = transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), monthStart, today);
-
-        // Calculate total spending per category for the month
-        Map<Long, BigDecimal> spendingPerCategory = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getId(),
-                        Collectors.mapping(Transaction::getAmount, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
+        AtomicLong created = new AtomicLong();
+        long filterSeed = ThreadLocalRandom.current().nextLong();
+        List<ShardedJobRunner.Shard> shards = ShardedJobRunner.split(range.minUserId(), range.maxUserId(), shardCount);
+        ShardedJobRunner.RunSummary summary = jobRunner.run(shards, shard -> processShard(monthStart, shard, filterSeed, created));
+
+        Duration elapsed = summary.elapsed();
+        long rows = summary.processed();
+        runTimer.record(elapsed);
+        double rowsPerSecond = rows / Math.max(elapsed.toNanos() / 1_000_000_000.0, 1e-9);
+        log.info("Finished budget check job in {} ms: {} budgets over threshold, {} notifications created ({} rows/s), {}/{} shards failed.",
+                elapsed.toMillis(), rows, created.get(), String.format("%.1f", rowsPerSecond), summary.failedShards(), shards.size());
+    }
 
-        for (Budget budget : budgets) {
-            BigDecimal spent = spendingPerCategory.getOrDefault(budget.getCategory().getId(), BigDecimal.ZERO);
-            BigDecimal budgeted = budget.getAmount();
+    private void shardGauge(MeterRegistry meterRegistry, String state, ToIntFunction<ShardedJobRunner.Progress> value) {
+        Gauge.builder("budget.check.shards", jobRunner, runner -> value.applyAsInt(runner.progress()))
+                .description("Shards of the running or last budget check run")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
 
-            if (budgeted.compareTo(BigDecimal.ZERO) == 0) continue;
+    @PreDestroy
+    void shutdown() {
+        jobRunner.close();
+    }
 
-            BigDecimal percentage = spent.divide(budgeted, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    private long processShard(LocalDate monthStart, ShardedJobRunner.Shard shard, long filterSeed, AtomicLong created) {
+        LongBloomFilter notified = loadNotifiedFilter(monthStart, shard, filterSeed);
+        // Chunks are ordered by budget id, so a user's budgets can span several of them
+        Set<Long> users = new HashSet<>();
+        long rows = 0;
+        long lastBudgetId = 0;
+        while (true) {
+            ChunkResult chunk = processChunk(monthStart, shard, lastBudgetId, notified, users);
+            rows += chunk.rows();
+            created.addAndGet(chunk.created());
+            // Counted per committed chunk, so a retried shard may count its earlier chunks twice
+            budgetsEvaluated.increment(chunk.rows());
+            if (chunk.rows() < chunkSize) {
+                usersProcessed.increment(users.size());
+                return rows;
+            }
+            lastBudgetId = chunk.lastBudgetId();
+        }
+    }
 
-            // Check for thresholds (e.g., 100%, 90%, 75%)
-            checkAndNotifyForThreshold(user, budget, spent, percentage, 100);
-            checkAndNotifyForThreshold(user, budget, spent, percentage, 90);
-            checkAndNotifyForThreshold(user, budget, spent, percentage, 75);
+    /**
+     * Builds a filter of the thresholds already notified for this shard's users, so budgets that
+     * stay over a threshold month-long cost no insert attempt on every run. A false positive only
+     * skips a key for this run; the next run uses a different seed.
+     */
+    private LongBloomFilter loadNotifiedFilter(LocalDate monthStart, ShardedJobRunner.Shard shard, long seed) {
+        List<ThresholdKey> keys = transactionTemplate.execute(status ->
+                notificationRepository.findThresholdKeys(monthStart, shard.fromId(), shard.toId()));
+        LongBloomFilter filter = new LongBloomFilter(keys.size(), FILTER_FALSE_POSITIVE_RATE, seed);
+        for (ThresholdKey key : keys) {
+            filter.put(filterKey(key.budgetId(), key.threshold()));
         }
+        return filter;
     }
 
-    private void checkAndNotifyForThreshold(User user, Budget budget, BigDecimal spent, BigDecimal percentage, int threshold) {
-        if (percentage.doubleValue() >= threshold) {
-            String message = String.format("You have spent %.2f%% of your '%s' budget for this month.",
-                    percentage, budget.getCategory().getName());
-
-            // IMPORTANT: Check if this exact notification has been sent before to avoid spam
-            if (!notificationRepository.existsByUserIdAndMessage(user.getId(), message)) {
-                Notification notification = new Notification();
-                notification.setUser(user);
-                notification.setMessage(message);
-                notification.setType(NotificationType.BUDGET_THRESHOLD);
-                notificationRepository.save(notification);
-                log.info("Created notification for user {}: {}", user.getEmail(), message);
+    /**
+     * Loads the shard's next chunk of budgets that crossed a threshold and creates their notifications.
+     * Each chunk commits on its own so the job never holds one long transaction.
+     */
+    private ChunkResult processChunk(LocalDate monthStart, ShardedJobRunner.Shard shard, long afterBudgetId, LongBloomFilter notified, Set<Long> users) {
+        return transactionTemplate.execute(status -> {
+            List<BudgetSpendView> crossed = budgetRepository.findCrossedThresholds(
+                    monthStart, shard.fromId(), shard.toId(), afterBudgetId, BudgetThresholdNotifier.MIN_THRESHOLD, Limit.of(chunkSize));
+            long created = 0;
+            for (BudgetSpendView row : crossed) {
+                users.add(row.userId());
+                int threshold = BudgetThresholdNotifier.highestCrossedThreshold(row);
+                if (threshold > 0 && notifyIfAbsent(row, monthStart, threshold, notified)) created++;
             }
+            long lastId = crossed.isEmpty() ? afterBudgetId : crossed.get(crossed.size() - 1).budgetId();
+            return new ChunkResult(crossed.size(), created, lastId);
+        });
+    }
+
+    private boolean notifyIfAbsent(BudgetSpendView row, LocalDate monthStart, int threshold, LongBloomFilter notified) {
+        long key = filterKey(row.budgetId(), threshold);
+        if (notified.mightContain(key)) {
+            return false;
         }
+        // Not added to the filter: it is sized for the keys it was loaded with, each budget comes up
+        // once per run, and the insert itself skips a notification that already exists
+        return notifier.notifyIfAbsent(row, monthStart, threshold, BudgetThresholdNotifier.Source.SCHEDULED);
+    }
+
+    private static long filterKey(long budgetId, int threshold) {
+        return budgetId * 1000 + threshold;
+    }
+
+    private record ChunkResult(int rows, long created, long lastBudgetId) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.example.budgetmanager.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside a write transaction whenever spending or the budget for a
+ * (user, category, month) may have changed. Month is the first day of the month.
+ */
+public record BudgetSpendChangedEvent(Long userId, Long categoryId, LocalDate month) {
+
+    public static BudgetSpendChangedEvent of(Long userId, Long categoryId, LocalDate date) {
+        return new BudgetSpendChangedEvent(userId, categoryId, date.withDayOfMonth(1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.domain.budget.BudgetRepository;
+import com.example.budgetmanager.domain.budget.BudgetSpendView;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+
+/**
+ * Re-checks the single budget affected by a write once that write has committed,
+ * so threshold alerts arrive within moments instead of waiting for the scheduled job.
+ */
+@Component
+public class BudgetThresholdEvaluator {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetThresholdNotifier notifier;
+
+    public BudgetThresholdEvaluator(BudgetRepository budgetRepository, BudgetThresholdNotifier notifier) {
+        this.budgetRepository = budgetRepository;
+        this.notifier = notifier;
+    }
+
+    @Async("budgetEvaluationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBudgetSpendChanged(BudgetSpendChangedEvent event) {
+        // Alerts are worded for the current month, same as the scheduled job
+        if (!event.month().equals(LocalDate.now().withDayOfMonth(1))) {
+            return;
+        }
+        budgetRepository.findSpendForBudget(event.userId(), event.categoryId(), event.month())
+                .ifPresent(row -> evaluate(row, event.month()));
+    }
+
+    private void evaluate(BudgetSpendView row, LocalDate monthStart) {
+        int threshold = BudgetThresholdNotifier.highestCrossedThreshold(row);
+        if (threshold > 0) {
+            notifier.notifyIfAbsent(row, monthStart, threshold, BudgetThresholdNotifier.Source.EVENT);
+        }
+    }
+}
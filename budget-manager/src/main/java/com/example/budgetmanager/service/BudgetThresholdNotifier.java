@@ -0,0 +1,114 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.api.notification.NotificationDto;
+import com.example.budgetmanager.domain.budget.BudgetSpendView;
+import com.example.budgetmanager.domain.money.Money;
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.domain.notification.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Threshold math and insert-if-absent notification shared by the scheduled job and the
+ * event-driven evaluator.
+ */
+@Component
+public class BudgetThresholdNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetThresholdNotifier.class);
+
+    // Checked from the highest down; the lowest one is also the SQL pre-filter
+    static final int[] THRESHOLDS = {100, 90, 75};
+    static final int MIN_THRESHOLD = 75;
+
+    /**
+     * What found the crossed threshold: the scheduled safety-net run or a write's budget event.
+     */
+    public enum Source {
+        SCHEDULED,
+        EVENT
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Source, Counter> notificationsCreated = new EnumMap<>(Source.class);
+
+    public BudgetThresholdNotifier(NotificationRepository notificationRepository, ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        for (Source source : Source.values()) {
+            notificationsCreated.put(source, Counter.builder("budget.check.notifications")
+                    .description("Threshold notifications created, by what found the crossing")
+                    .tag("source", source.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    // Only needed for the message, i.e. once per notification actually created
+    static BigDecimal percentage(BudgetSpendView row) {
+        return row.spent().divide(row.budgeted(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * The highest threshold the row's spend has reached, or 0. Compared exactly in cents, the same
+     * way as the SQL pre-filter ({@code spent * 100 >= budgeted * threshold}).
+     */
+    static int highestCrossedThreshold(BudgetSpendView row) {
+        return highestCrossedThreshold(Money.cents(row.spent()), Money.cents(row.budgeted()));
+    }
+
+    static int highestCrossedThreshold(long spentCents, long budgetedCents) {
+        if (budgetedCents <= 0) return 0;
+        for (int threshold : THRESHOLDS) {
+            if (Money.atLeastPercent(spentCents, threshold, budgetedCents)) return threshold;
+        }
+        return 0;
+    }
+
+    /**
+     * Creates the notification for the given threshold unless one already exists for the
+     * (user, budget, month, threshold) key. Returns whether a row was inserted; a new row is also
+     * published as a {@link NotificationCreatedEvent} and counted once the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean notifyIfAbsent(BudgetSpendView row, LocalDate monthStart, int threshold, Source source) {
+        String message = String.format("You have spent %.2f%% of your '%s' budget for this month.",
+                percentage(row), row.categoryName());
+        Instant createdAt = Instant.now();
+        // The unique (user, budget, month, threshold) key makes this a no-op if someone else got there first
+        Optional<Long> id = notificationRepository.insertThresholdIfAbsent(
+                row.userId(), row.budgetId(), monthStart, threshold, message, NotificationType.BUDGET_THRESHOLD.name(), createdAt);
+        if (id.isEmpty()) {
+            return false;
+        }
+        log.info("Created notification for user {}: {}", row.userId(), message);
+        Counter created = notificationsCreated.get(source);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.increment();
+            }
+        });
+        eventPublisher.publishEvent(new NotificationCreatedEvent(row.userId(),
+                new NotificationDto(id.get(), message, NotificationType.BUDGET_THRESHOLD, false, createdAt)));
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.config.datasource.ReadYourWritesGuard;
+import com.example.budgetmanager.config.invalidation.CacheInvalidationEvent;
+import com.example.budgetmanager.config.invalidation.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Monotonic per-user version of everything the read endpoints return (transactions, budgets,
+ * categories and what is derived from them). Writes bump it in their own transaction; reads are
+ * answered from memory once a user's version has been loaded.
+ * <p>
+ * The in-memory copy is exact for writes made through this instance. Other instances announce
+ * their writes on the {@link InvalidationBus}; the TTL only bounds how long a write goes unnoticed
+ * if its announcement is lost with the instance that made it.
+ */
+@Service
+public class DataVersionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final InvalidationBus invalidationBus;
+    private final Cache<Long, Long> versions;
+
+    public DataVersionService(JdbcTemplate jdbcTemplate, ReadYourWritesGuard readYourWritesGuard, InvalidationBus invalidationBus,
+                              @Value("${application.data-version.cache-size:10000}") long cacheSize,
+                              @Value("${application.data-version.cache-ttl:PT1H}") Duration cacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.invalidationBus = invalidationBus;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public long current(Long userId) {
+        return versions.get(userId, id ->
+                jdbcTemplate.queryForObject("SELECT data_version FROM users WHERE id = ?", Long.class, id));
+    }
+
+    /**
+     * Bumps the user's version as part of the caller's transaction. The row lock it takes also
+     * orders concurrent writes of the same user; the cached value follows once the write commits.
+     * Every write bumps the version, so this is also where the user's reads get pinned to the primary.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        Long version = jdbcTemplate.queryForObject(
+                "UPDATE users SET data_version = data_version + 1 WHERE id = ? RETURNING data_version", Long.class, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // max: a reader may have loaded an older value while this transaction was committing
+                versions.asMap().merge(userId, version, Math::max);
+                invalidationBus.userChanged(userId, version);
+            }
+        });
+        readYourWritesGuard.recordWrite(userId);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.flushAll()) {
+            versions.invalidateAll();
+            return;
+        }
+        // Only users already cached here; the rest are loaded when first asked for
+        event.userVersions().forEach((userId, version) ->
+                versions.asMap().computeIfPresent(userId, (id, cached) -> Math.max(cached, version)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.budgetmanager.service;
+
+/**
+ * Minimal Bloom filter over long keys. A negative answer is exact, a positive one is wrong
+ * with roughly the configured probability as long as no more keys than the expected insertions
+ * are put; beyond that the rate climbs quickly. Not thread-safe.
+ * <p>
+ * The hash seed is chosen by the caller; using a fresh seed for every run means a false
+ * positive in one run is independent of the next, so it can only ever delay a key, never hide it.
+ */
+final class LongBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long seed;
+
+    LongBloomFilter(int expectedInsertions, double falsePositiveRate, long seed) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.bits = new long[(int) ((bitCount + 63) / 64)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.seed = seed;
+    }
+
+    void put(long key) {
+        long h1 = mix(key ^ seed);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    boolean mightContain(long key) {
+        long h1 = mix(key ^ seed);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.domain.rollup.CategoryTotalView;
+import com.example.budgetmanager.domain.rollup.MonthlyCategoryTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the {@code monthly_category_totals} rollup in step with {@code transactions}.
+ * The record/reverse methods must run inside the caller's transaction so the rollup
+ * commits (or rolls back) together with the transaction row itself.
+ */
+@Service
+public class MonthlyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyCategoryTotalRepository totalRepository;
+
+    public MonthlyRollupService(MonthlyCategoryTotalRepository totalRepository) {
+        this.totalRepository = totalRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Long userId, Long categoryId, LocalDate transactionDate, BigDecimal amount) {
+        totalRepository.applyDelta(userId, categoryId, transactionDate.withDayOfMonth(1), amount, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseTransaction(Long userId, Long categoryId, LocalDate transactionDate, BigDecimal amount) {
+        totalRepository.applyDelta(userId, categoryId, transactionDate.withDayOfMonth(1), amount.negate(), -1);
+    }
+
+    /**
+     * Adds a pre-aggregated group of new transactions (e.g. one import batch) in a single upsert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransactions(Long userId, Long categoryId, LocalDate monthStart, BigDecimal total, long count) {
+        totalRepository.applyDelta(userId, categoryId, monthStart, total, count);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryTotalView> getTotalsForMonth(Long userId, LocalDate monthStart) {
+        return totalRepository.findAllForMonth(userId, monthStart);
+    }
+
+    /**
+     * Recomputes the rollup from {@code transactions} for the given month range (inclusive).
+     * A null userId rebuilds every user. Intended as a repair tool, see {@link RollupRebuildRunner}.
+     */
+    @Transactional
+    public int rebuild(Long userId, YearMonth from, YearMonth to) {
+        LocalDate fromMonth = from.atDay(1);
+        LocalDate toMonth = to.atDay(1);
+        int removed = totalRepository.deleteRange(userId, fromMonth, toMonth);
+        int rebuilt = totalRepository.rebuildRange(userId, fromMonth, to.plusMonths(1).atDay(1));
+        log.info("Rebuilt monthly rollup for user {} from {} to {}: {} rows removed, {} rows written.",
+                userId == null ? "*" : userId, from, to, removed, rebuilt);
+        return rebuilt;
+    }
+}
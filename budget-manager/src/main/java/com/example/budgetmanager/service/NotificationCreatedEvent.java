@@ -0,0 +1,10 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.api.notification.NotificationDto;
+
+/**
+ * Published inside the transaction that inserted a notification; listeners that push it to
+ * clients should run after commit.
+ */
+public record NotificationCreatedEvent(Long userId, NotificationDto notification) {
+}
@@ -0,0 +1,229 @@
+package com.example.budgetmanager.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Enforces the notification retention policy: read notifications are kept for
+ * {@code read-max-age}, any notification for {@code max-age}, and each user keeps at most
+ * {@code max-per-user} of the newest ones.
+ * <p>
+ * Rows are deleted in small batches that each commit on their own, pick their rows through an
+ * index and skip rows another transaction has locked, with a pause in between so foreground
+ * traffic keeps the connection pool and the disk. Unread counters are adjusted in the same
+ * statement as the delete. A run stops after {@code max-run-time}; the next run continues.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    // %s selects the ids of one batch; the rest deletes them and fixes the unread counters
+    private static final String DELETE_BATCH = """
+            WITH batch AS (
+                %s
+            ), deleted AS (
+                DELETE FROM notifications n USING batch b
+                WHERE n.id = b.id
+                RETURNING n.user_id, n.is_read
+            ), counted AS (
+                UPDATE notification_counters c SET unread = c.unread - d.unread
+                FROM (SELECT user_id, count(*) AS unread FROM deleted WHERE NOT is_read GROUP BY user_id) d
+                WHERE c.user_id = d.user_id
+            )
+            SELECT count(*) FROM deleted
+            """;
+
+    private static final String READ_BEFORE = DELETE_BATCH.formatted("""
+            SELECT id FROM notifications
+                WHERE created_at < ? AND is_read
+                ORDER BY created_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED""");
+
+    private static final String ANY_BEFORE = DELETE_BATCH.formatted("""
+            SELECT id FROM notifications
+                WHERE created_at < ?
+                ORDER BY created_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED""");
+
+    // Everything of one user from their (max-per-user + 1)-th newest notification on
+    private static final String BEYOND_NEWEST = DELETE_BATCH.formatted("""
+            SELECT id FROM notifications
+                WHERE user_id = ? AND id <= (
+                    SELECT id FROM notifications WHERE user_id = ? ORDER BY id DESC OFFSET ? LIMIT 1
+                )
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED""");
+
+    private static final String USERS_OVER_LIMIT = """
+            SELECT user_id FROM notifications GROUP BY user_id HAVING count(*) > ? ORDER BY user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.notifications.retention.read-max-age:P90D}")
+    private Duration readMaxAge;
+
+    @Value("${application.notifications.retention.max-age:P365D}")
+    private Duration maxAge;
+
+    @Value("${application.notifications.retention.max-per-user:500}")
+    private int maxPerUser;
+
+    @Value("${application.notifications.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${application.notifications.retention.batch-pause:PT0.1S}")
+    private Duration batchPause;
+
+    @Value("${application.notifications.retention.lock-timeout:PT2S}")
+    private Duration lockTimeout;
+
+    @Value("${application.notifications.retention.max-run-time:PT10M}")
+    private Duration maxRunTime;
+
+    private final Timer runTimer;
+    // Read by the last-run gauges; null before the first run
+    private volatile RunSummary lastRun;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.runTimer = Timer.builder("notifications.retention.run")
+                .description("Duration of a notification retention run")
+                .register(meterRegistry);
+        String removed = "Notifications the last retention run removed, by rule";
+        lastRunGauge(meterRegistry, "notifications.retention.last.removed", removed, Tags.of("rule", "read-expired"), RunSummary::readExpired);
+        lastRunGauge(meterRegistry, "notifications.retention.last.removed", removed, Tags.of("rule", "expired"), RunSummary::expired);
+        lastRunGauge(meterRegistry, "notifications.retention.last.removed", removed, Tags.of("rule", "over-limit"), RunSummary::overLimit);
+        lastRunGauge(meterRegistry, "notifications.retention.last.batches", "Delete batches of the last retention run",
+                Tags.empty(), RunSummary::batches);
+        lastRunGauge(meterRegistry, "notifications.retention.last.stopped.early", "1 if the last retention run stopped before it was done",
+                Tags.empty(), summary -> summary.stoppedEarly() ? 1 : 0);
+    }
+
+    private void lastRunGauge(MeterRegistry meterRegistry, String name, String description, Tags tags, ToDoubleFunction<RunSummary> value) {
+        Gauge.builder(name, this, service -> {
+                    RunSummary last = service.lastRun;
+                    return last == null ? 0 : value.applyAsDouble(last);
+                })
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${application.notifications.retention.cron:0 15 3 * * ?}")
+    public void enforceRetention() {
+        log.info("Starting notification retention job...");
+        Instant startedAt = Instant.now();
+        Instant deadline = startedAt.plus(maxRunTime);
+        Run run = new Run(deadline);
+
+        long readExpired = run.deleteAll(READ_BEFORE, Timestamp.from(startedAt.minus(readMaxAge)));
+        long expired = run.deleteAll(ANY_BEFORE, Timestamp.from(startedAt.minus(maxAge)));
+        long overLimit = 0;
+        if (!run.stopped) {
+            List<Long> userIds = jdbcTemplate.queryForList(USERS_OVER_LIMIT, Long.class, maxPerUser);
+            for (Long userId : userIds) {
+                overLimit += run.deleteAll(BEYOND_NEWEST, userId, userId, maxPerUser);
+                if (run.stopped) break;
+            }
+        }
+
+        RunSummary summary = new RunSummary(startedAt, Duration.between(startedAt, Instant.now()),
+                readExpired, expired, overLimit, run.batches, run.stopped);
+        lastRun = summary;
+        runTimer.record(summary.elapsed());
+        log.info("Finished notification retention job in {} ms: {} rows removed ({} read and older than {}, {} older than {}, {} over {} per user) in {} batches{}.",
+                summary.elapsed().toMillis(), summary.removed(), readExpired, readMaxAge, expired, maxAge, overLimit, maxPerUser,
+                run.batches, run.stopped ? ", stopped early" : "");
+    }
+
+    private record RunSummary(Instant startedAt, Duration elapsed, long readExpired, long expired, long overLimit,
+                             long batches, boolean stoppedEarly) {
+
+        long removed() {
+            return readExpired + expired + overLimit;
+        }
+    }
+
+    private final class Run {
+
+        private final Instant deadline;
+        private long batches;
+        private boolean stopped;
+
+        private Run(Instant deadline) {
+            this.deadline = deadline;
+        }
+
+        // Repeats one kind of batch until a batch comes back short; returns the rows deleted
+        long deleteAll(String sql, Object... args) {
+            Object[] batchArgs = withBatchSize(args);
+            long removed = 0;
+            while (!stopped) {
+                long deleted;
+                try {
+                    deleted = deleteBatch(sql, batchArgs);
+                } catch (DataAccessException e) {
+                    // Usually a lock timeout behind foreground traffic; whatever is left waits for the next run
+                    log.warn("Notification retention batch failed, stopping this run: {}", e.toString());
+                    stopped = true;
+                    break;
+                }
+                batches++;
+                removed += deleted;
+                if (deleted < batchSize) break;
+                if (Instant.now().isAfter(deadline) || !pause()) stopped = true;
+            }
+            return removed;
+        }
+
+        private long deleteBatch(String sql, Object[] args) {
+            return transactionTemplate.execute(status -> {
+                // Give up instead of queueing behind a foreground lock (e.g. on an unread counter)
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeout.toMillis());
+                return jdbcTemplate.queryForObject(sql, Long.class, args);
+            });
+        }
+
+        private Object[] withBatchSize(Object[] args) {
+            Object[] withLimit = new Object[args.length + 1];
+            System.arraycopy(args, 0, withLimit, 0, args.length);
+            withLimit[args.length] = batchSize;
+            return withLimit;
+        }
+
+        private boolean pause() {
+            try {
+                Thread.sleep(batchPause);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
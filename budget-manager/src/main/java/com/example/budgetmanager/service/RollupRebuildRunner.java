@@ -0,0 +1,54 @@
+package com.example.budgetmanager.service;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * One-shot repair command for the monthly rollup:
+ * <pre>
+ * java -jar app.jar --rebuild-rollup --from=2024-01 --to=2024-12 [--user-id=42]
+ * </pre>
+ * The application exits once the rebuild has finished.
+ */
+@Component
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private final MonthlyRollupService rollupService;
+    private final ConfigurableApplicationContext context;
+
+    public RollupRebuildRunner(MonthlyRollupService rollupService, ConfigurableApplicationContext context) {
+        this.rollupService = rollupService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("rebuild-rollup")) {
+            return;
+        }
+        YearMonth from = YearMonth.parse(requiredOption(args, "from"));
+        YearMonth to = YearMonth.parse(requiredOption(args, "to"));
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("--to must not be before --from");
+        }
+        List<String> userIds = args.getOptionValues("user-id");
+        Long userId = userIds == null || userIds.isEmpty() ? null : Long.valueOf(userIds.get(0));
+
+        rollupService.rebuild(userId, from, to);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private String requiredOption(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return values.get(0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.budgetmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a job that is split into id-range shards on a bounded worker pool.
+ * Each shard is retried on its own, and a shard that keeps failing is recorded
+ * as failed without aborting the other shards of the run.
+ * <p>
+ * The number of workers is the number of shards in flight at once, so it should stay
+ * well below the database connection pool size.
+ */
+public class ShardedJobRunner implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedJobRunner.class);
+
+    private final String jobName;
+    private final ExecutorService executor;
+    // Virtual threads are unbounded, so the permits are what actually caps concurrency
+    private final Semaphore permits;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private volatile RunState current;
+
+    public ShardedJobRunner(String jobName, int workers, boolean virtualThreads, int maxAttempts, Duration retryBackoff) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be at least 1");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+        this.jobName = jobName;
+        this.permits = new Semaphore(workers);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(jobName + "-shard-", 0).factory())
+                : Executors.newFixedThreadPool(workers, platformThreads(jobName));
+    }
+
+    /**
+     * Splits the inclusive id range [minId, maxId] into at most shardCount contiguous shards.
+     */
+    public static List<Shard> split(long minId, long maxId, int shardCount) {
+        if (maxId < minId) return List.of();
+        long span = maxId - minId + 1;
+        long size = Math.max(1, (span + shardCount - 1) / shardCount);
+        List<Shard> shards = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += size) {
+            long to = Math.min(maxId, from + size - 1);
+            shards.add(new Shard(shards.size(), from, to));
+            if (to == maxId) break;
+        }
+        return shards;
+    }
+
+    /**
+     * Runs every shard and blocks until all of them have succeeded or exhausted their retries.
+     */
+    public RunSummary run(List<Shard> shards, ShardTask task) {
+        RunState state = new RunState(shards.size(), Instant.now());
+        current = state;
+
+        List<Future<ShardResult>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            futures.add(executor.submit(() -> runShard(shard, task, state)));
+        }
+
+        List<ShardResult> results = new ArrayList<>(shards.size());
+        for (Future<ShardResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IllegalStateException(jobName + " was interrupted", e);
+            } catch (Exception e) {
+                // runShard never throws, so this is a bug rather than a shard failure
+                throw new IllegalStateException(jobName + " shard crashed", e);
+            }
+        }
+        return new RunSummary(state.startedAt, Duration.between(state.startedAt, Instant.now()), results);
+    }
+
+    /**
+     * Progress of the current (or last) run, safe to call from any thread.
+     */
+    public Progress progress() {
+        RunState state = current;
+        if (state == null) {
+            return new Progress(0, 0, 0, null);
+        }
+        return new Progress(state.totalShards, state.completed.get(), state.failed.get(), state.startedAt);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private ShardResult runShard(Shard shard, ShardTask task, RunState state) {
+        long startNanos = System.nanoTime();
+        Exception lastError = null;
+        int attempt = 0;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return state.finish(new ShardResult(shard, 0, Duration.ZERO, false, 0, "interrupted"), log, jobName);
+        }
+        try {
+            while (attempt < maxAttempts) {
+                attempt++;
+                try {
+                    long processed = task.process(shard);
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+                    return state.finish(new ShardResult(shard, attempt, elapsed, true, processed, null), log, jobName);
+                } catch (Exception e) {
+                    lastError = e;
+                    log.warn("{} shard {} [{}..{}] failed on attempt {}/{}: {}",
+                            jobName, shard.index(), shard.fromId(), shard.toId(), attempt, maxAttempts, e.toString());
+                    if (attempt < maxAttempts && !sleep(retryBackoff.multipliedBy(attempt))) break;
+                }
+            }
+        } finally {
+            permits.release();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        String error = lastError == null ? "interrupted" : lastError.toString();
+        return state.finish(new ShardResult(shard, attempt, elapsed, false, 0, error), log, jobName);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ThreadFactory platformThreads(String jobName) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, jobName + "-shard-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    public interface ShardTask {
+        /**
+         * Processes one shard and returns the number of items it handled.
+         * Must be safe to re-run, since a failed shard is retried from the start.
+         */
+        long process(Shard shard) throws Exception;
+    }
+
+    public record Shard(int index, long fromId, long toId) {
+    }
+
+    public record ShardResult(Shard shard, int attempts, Duration elapsed, boolean succeeded, long processed, String error) {
+    }
+
+    public record RunSummary(Instant startedAt, Duration elapsed, List<ShardResult> shards) {
+
+        public long processed() {
+            return shards.stream().mapToLong(ShardResult::processed).sum();
+        }
+
+        public long failedShards() {
+            return shards.stream().filter(r -> !r.succeeded()).count();
+        }
+    }
+
+    public record Progress(int totalShards, int completedShards, int failedShards, Instant startedAt) {
+    }
+
+    private static final class RunState {
+        private final int totalShards;
+        private final Instant startedAt;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private RunState(int totalShards, Instant startedAt) {
+            this.totalShards = totalShards;
+            this.startedAt = startedAt;
+        }
+
+        private ShardResult finish(ShardResult result, Logger log, String jobName) {
+            int done = completed.incrementAndGet();
+            if (!result.succeeded()) failed.incrementAndGet();
+            log.info("{} shard {} [{}..{}] {} in {} ms after {} attempt(s), {} items ({}/{} shards done)",
+                    jobName, result.shard().index(), result.shard().fromId(), result.shard().toId(),
+                    result.succeeded() ? "finished" : "FAILED", result.elapsed().toMillis(), result.attempts(),
+                    result.processed(), done, totalShards);
+            return result;
+        }
+    }
+}
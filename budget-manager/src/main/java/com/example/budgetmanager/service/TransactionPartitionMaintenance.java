@@ -0,0 +1,53 @@
+package com.example.budgetmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of {@code transactions} created ahead of time, so writes for the coming
+ * months never land in the default partition. Runs on startup and then daily; creating a partition
+ * that already exists is a no-op.
+ */
+@Service
+public class TransactionPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.transactions.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    public TransactionPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.transactions.partitions.cron:0 30 2 * * ?}")
+    public void ensureUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        List<String> partitions = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitions.add(ensurePartition(month.plusMonths(i)));
+        }
+        log.info("Transaction partitions ready: {}", partitions);
+    }
+
+    /**
+     * Creates the partition for the month containing the given date unless it exists, moving any of
+     * that month's rows out of the default partition, and returns the partition's name.
+     */
+    public String ensurePartition(LocalDate month) {
+        return jdbcTemplate.queryForObject("SELECT ensure_transaction_partition(?)", String.class, month);
+    }
+}
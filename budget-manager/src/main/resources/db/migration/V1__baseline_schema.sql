@@ -0,0 +1,73 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Every statement is
+-- idempotent so this also applies cleanly to databases that were created that way.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name     varchar(255)                NOT NULL,
+    email         varchar(255)                NOT NULL,
+    password_hash varchar(255)                NOT NULL,
+    created_at    timestamp(6) with time zone NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id      bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    varchar(255) NOT NULL,
+    type    varchar(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    user_id bigint       NOT NULL,
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, name),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Pooled ids: Hibernate hands out allocationSize (50) ids per nextval
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id               bigint PRIMARY KEY,
+    user_id          bigint                      NOT NULL,
+    category_id      bigint                      NOT NULL,
+    amount           numeric(10, 2)              NOT NULL,
+    description      varchar(255),
+    transaction_date date                        NOT NULL,
+    created_at       timestamp(6) with time zone NOT NULL,
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+-- Databases that predate the sequence have identity-assigned ids; move the sequence past them
+SELECT setval('transactions_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM transactions), (SELECT last_value FROM transactions_seq)) + 50);
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     bigint         NOT NULL,
+    category_id bigint         NOT NULL,
+    amount      numeric(10, 2) NOT NULL,
+    month       date           NOT NULL,
+    CONSTRAINT uk_budgets_user_category_month UNIQUE (user_id, category_id, month),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_budgets_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    bigint                      NOT NULL,
+    message    varchar(255)                NOT NULL,
+    type       varchar(255)                NOT NULL CHECK (type IN ('BUDGET_THRESHOLD', 'UNUSUAL_SPENDING')),
+    is_read    boolean                     NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    budget_id  bigint,
+    month      date,
+    threshold  integer,
+    CONSTRAINT uk_notifications_threshold_key UNIQUE (user_id, budget_id, month, threshold),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS monthly_category_totals (
+    user_id     bigint         NOT NULL,
+    category_id bigint         NOT NULL,
+    month       date           NOT NULL,
+    total       numeric(14, 2) NOT NULL,
+    tx_count    bigint         NOT NULL,
+    PRIMARY KEY (user_id, category_id, month)
+);
@@ -0,0 +1,43 @@
+-- One index per hot read path, named after what it serves. Unique constraints from V1 already
+-- cover users.email, categories (user_id, name), budgets (user_id, category_id, month) and the
+-- notification threshold key.
+
+-- The ddl-auto=update era index, superseded by the covering one below
+DROP INDEX IF EXISTS idx_transactions_user_date_id;
+
+-- Period listing, keyset pages, NDJSON stream and the dashboard GROUP BY:
+-- user filter, then (transaction_date, id) in index order; the INCLUDE columns make the sum index-only
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+    ON transactions (user_id, transaction_date, id) INCLUDE (category_id, amount);
+
+-- Budgets-with-spend join and the category delete cascade
+CREATE INDEX IF NOT EXISTS idx_transactions_category_date
+    ON transactions (category_id, transaction_date) INCLUDE (amount);
+
+-- Budget listing and dashboard budget lines
+CREATE INDEX IF NOT EXISTS idx_budgets_user_month
+    ON budgets (user_id, month);
+
+-- Budget check job: user id range of a month and its keyset scan by budget id
+CREATE INDEX IF NOT EXISTS idx_budgets_month_user
+    ON budgets (month, user_id) INCLUDE (id);
+
+-- Category delete cascade
+CREATE INDEX IF NOT EXISTS idx_budgets_category
+    ON budgets (category_id);
+
+-- Notification inbox, newest first
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC);
+
+-- Budget check job: thresholds already notified for a shard's users
+CREATE INDEX IF NOT EXISTS idx_notifications_month_user
+    ON notifications (month, user_id) INCLUDE (budget_id, threshold);
+
+-- Dashboard rollup read for one user and month
+CREATE INDEX IF NOT EXISTS idx_monthly_category_totals_user_month
+    ON monthly_category_totals (user_id, month);
+
+-- Rollup cleanup when a category is deleted
+CREATE INDEX IF NOT EXISTS idx_monthly_category_totals_category
+    ON monthly_category_totals (category_id);
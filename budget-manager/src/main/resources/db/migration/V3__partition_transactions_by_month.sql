@@ -0,0 +1,70 @@
+-- Range-partitions transactions by calendar month. Month-bounded reads prune to one partition, and
+-- old months can be detached and dropped as whole tables instead of deleted row by row.
+-- The primary key has to include the partition key; ids stay unique because they come from transactions_seq.
+
+CREATE TABLE transactions_partitioned (
+    id               bigint                      NOT NULL,
+    user_id          bigint                      NOT NULL,
+    category_id      bigint                      NOT NULL,
+    amount           numeric(10, 2)              NOT NULL,
+    description      varchar(255),
+    transaction_date date                        NOT NULL,
+    created_at       timestamp(6) with time zone NOT NULL,
+    CONSTRAINT transactions_partitioned_pkey PRIMARY KEY (id, transaction_date),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) PARTITION BY RANGE (transaction_date);
+
+-- Catches months that have no partition of their own (e.g. an import of old bank statements)
+CREATE TABLE transactions_default PARTITION OF transactions_partitioned DEFAULT;
+
+-- One partition per month from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    first_month date := COALESCE((SELECT date_trunc('month', MIN(transaction_date))::date FROM transactions),
+                                 date_trunc('month', current_date)::date);
+    month_start date;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(first_month, date_trunc('month', current_date)::date + interval '3 months', interval '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(month_start, 'YYYY_MM'), month_start, (month_start + interval '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO transactions_partitioned (id, user_id, category_id, amount, description, transaction_date, created_at)
+SELECT id, user_id, category_id, amount, description, transaction_date, created_at
+FROM transactions;
+
+DROP TABLE transactions;
+ALTER TABLE transactions_partitioned RENAME TO transactions;
+ALTER TABLE transactions RENAME CONSTRAINT transactions_partitioned_pkey TO transactions_pkey;
+
+-- Same read paths as V2; created on the parent, so every partition gets its own copy
+CREATE INDEX idx_transactions_user_date_id
+    ON transactions (user_id, transaction_date, id) INCLUDE (category_id, amount);
+
+CREATE INDEX idx_transactions_category_date
+    ON transactions (category_id, transaction_date) INCLUDE (amount);
+
+-- Creates the partition for the month containing month_start unless it exists, and returns its name.
+-- Rows of that month already sitting in the default partition are moved into it first, so this
+-- also works for past months. Called ahead of time by TransactionPartitionMaintenance.
+CREATE OR REPLACE FUNCTION ensure_transaction_partition(month_start date) RETURNS text AS $$
+DECLARE
+    from_date date := date_trunc('month', month_start)::date;
+    to_date   date := (date_trunc('month', month_start) + interval '1 month')::date;
+    partition_name text := 'transactions_p' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    -- Serializes concurrent callers (e.g. several application instances)
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_transaction_partition'));
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM transactions_default WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', from_date, to_date, partition_name);
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', partition_name, from_date, to_date);
+    END IF;
+    RETURN partition_name;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,3 @@
+-- Per-user counter bumped in the same transaction as every write to the user's transactions,
+-- budgets or categories. GET responses derive their ETag from it.
+ALTER TABLE users ADD COLUMN data_version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Unread notifications per user, kept in step with notifications by the statements that insert
+-- notifications or mark them read, so the unread badge is a primary-key lookup.
+CREATE TABLE notification_counters (
+    user_id bigint NOT NULL PRIMARY KEY,
+    unread  bigint NOT NULL CHECK (unread >= 0),
+    CONSTRAINT fk_notification_counters_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO notification_counters (user_id, unread)
+SELECT user_id, count(*) FROM notifications WHERE NOT is_read GROUP BY user_id;
+
+-- Inbox pages: user filter, then id descending
+CREATE INDEX idx_notifications_user_id
+    ON notifications (user_id, id);
+
+-- Mark-all-read only visits the user's unread rows
+CREATE INDEX idx_notifications_user_unread
+    ON notifications (user_id, id) WHERE NOT is_read;
@@ -0,0 +1,4 @@
+-- Retention deletes the oldest notifications first; this lets each batch read them in order
+-- instead of scanning the table.
+CREATE INDEX idx_notifications_created
+    ON notifications (created_at, id);
@@ -0,0 +1,11 @@
+-- V1 created the rollup empty: transactions written before it (or before the application
+-- maintained it) were never counted. Recompute it once from transactions, the same way
+-- --rebuild-rollup does; the LOCK keeps a still-running old instance from writing in between.
+LOCK TABLE transactions, monthly_category_totals IN SHARE ROW EXCLUSIVE MODE;
+
+DELETE FROM monthly_category_totals;
+
+INSERT INTO monthly_category_totals (user_id, category_id, month, total, tx_count)
+SELECT user_id, category_id, CAST(date_trunc('month', transaction_date) AS date), SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, category_id, CAST(date_trunc('month', transaction_date) AS date);
@@ -0,0 +1,165 @@
+package com.example.budgetmanager.api;
+
+import com.example.budgetmanager.api.budget.BudgetRequest;
+import com.example.budgetmanager.api.budget.BudgetService;
+import com.example.budgetmanager.api.category.CategoryService;
+import com.example.budgetmanager.api.notification.NotificationController;
+import com.example.budgetmanager.api.transaction.TransactionRequest;
+import com.example.budgetmanager.api.transaction.TransactionService;
+import com.example.budgetmanager.config.security.AuthenticatedUser;
+import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.support.PostgresTestConfiguration;
+import com.example.budgetmanager.support.TestDataSeeder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read paths must not issue a statement per row or per category: the statement count for a
+ * user with a handful of rows has to match the count for a user with many.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresTestConfiguration.class)
+class StatementCountTests {
+
+    private static final YearMonth MONTH = YearMonth.now();
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private NotificationController notificationController;
+    @Autowired
+    private TestDataSeeder seeder;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void transactionListingIsOneStatementRegardlessOfRows() {
+        User few = seedUser(2);
+        User many = seedUser(40);
+
+        long forFew = statementsFor(() -> transactionService.getTransactionsForUser(MONTH.getYear(), MONTH.getMonthValue(), few.getId()));
+        long forMany = statementsFor(() -> transactionService.getTransactionsForUser(MONTH.getYear(), MONTH.getMonthValue(), many.getId()));
+
+        assertThat(forFew).isEqualTo(1);
+        assertThat(forMany).isEqualTo(forFew);
+    }
+
+    @Test
+    void budgetListingIsOneStatementRegardlessOfRows() {
+        User few = seedUser(2);
+        User many = seedUser(40);
+
+        long forFew = statementsFor(() -> budgetService.getBudgetsForMonth(MONTH.getYear(), MONTH.getMonthValue(), few.getId()));
+        long forMany = statementsFor(() -> budgetService.getBudgetsForMonth(MONTH.getYear(), MONTH.getMonthValue(), many.getId()));
+
+        assertThat(forFew).isEqualTo(1);
+        assertThat(forMany).isEqualTo(forFew);
+    }
+
+    @Test
+    void dashboardStatementCountDoesNotGrowWithRows() {
+        User few = seedUser(2);
+        User many = seedUser(40);
+
+        long forFew = statementsFor(() -> transactionService.getDashboardSummary(MONTH.getYear(), MONTH.getMonthValue(), few.getId()));
+        long forMany = statementsFor(() -> transactionService.getDashboardSummary(MONTH.getYear(), MONTH.getMonthValue(), many.getId()));
+
+        assertThat(forMany).isEqualTo(forFew);
+    }
+
+    @Test
+    void notificationListingIsOneStatementRegardlessOfRows() {
+        User few = seedUser(2);
+        User many = seedUser(40);
+
+        long forFew = statementsFor(() -> notificationController.getNotifications(new AuthenticatedUser(few.getId(), few.getEmail())));
+        long forMany = statementsFor(() -> notificationController.getNotifications(new AuthenticatedUser(many.getId(), many.getEmail())));
+
+        assertThat(forFew).isEqualTo(1);
+        assertThat(forMany).isEqualTo(forFew);
+    }
+
+    @Test
+    void notificationInboxStatementsDoNotGrowWithRows() {
+        AuthenticatedUser few = authenticated(seedUser(2));
+        AuthenticatedUser many = authenticated(seedUser(40));
+
+        // The unread badge is a counter lookup and a page is one keyset query
+        assertThat(statementsFor(() -> notificationController.getUnreadCount(few))).isEqualTo(1);
+        assertThat(statementsFor(() -> notificationController.getUnreadCount(many))).isEqualTo(1);
+        assertThat(statementsFor(() -> notificationController.getNotificationPage(few, null, 10))).isEqualTo(1);
+        assertThat(statementsFor(() -> notificationController.getNotificationPage(many, null, 10))).isEqualTo(1);
+
+        long markFew = statementsFor(() -> notificationController.markAllAsRead(few, null));
+        long markMany = statementsFor(() -> notificationController.markAllAsRead(many, null));
+        assertThat(markMany).isEqualTo(markFew);
+    }
+
+    @Test
+    void categoryAndBudgetReadsComeFromTheCacheUntilTheyChange() {
+        User user = seedUser(5);
+        int year = MONTH.getYear();
+        int month = MONTH.getMonthValue();
+
+        assertThat(statementsFor(() -> categoryService.getCategoriesForUser(user.getId()))).isEqualTo(1);
+        assertThat(statementsFor(() -> budgetService.getBudgetsForMonth(year, month, user.getId()))).isEqualTo(1);
+        assertThat(statementsFor(() -> categoryService.getCategoriesForUser(user.getId()))).isZero();
+        assertThat(statementsFor(() -> budgetService.getBudgetsForMonth(year, month, user.getId()))).isZero();
+
+        // A write runs the budget evaluation in the background, so from here on count cache hits rather than statements
+        Long categoryId = categoryService.getCategoriesForUser(user.getId()).getFirst().id();
+        transactionService.create(new TransactionRequest(categoryId, new BigDecimal("5.00"), "Cached", MONTH.atDay(1)), user.getId());
+        assertThat(queryCacheHitsFor(() -> categoryService.getCategoriesForUser(user.getId()))).isEqualTo(1);
+        assertThat(queryCacheHitsFor(() -> budgetService.getBudgetsForMonth(year, month, user.getId()))).isEqualTo(1);
+
+        budgetService.setBudget(new BudgetRequest(categoryId, new BigDecimal("250.00"), year, month), user.getId());
+        assertThat(queryCacheHitsFor(() -> budgetService.getBudgetsForMonth(year, month, user.getId()))).isZero();
+        assertThat(budgetService.getBudgetsForMonth(year, month, user.getId()))
+                .filteredOn(budget -> budget.categoryId().equals(categoryId))
+                .singleElement()
+                .satisfies(budget -> assertThat(budget.amount()).isEqualByComparingTo("250.00"));
+    }
+
+    private static AuthenticatedUser authenticated(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail());
+    }
+
+    private long statementsFor(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long queryCacheHitsFor(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getQueryCacheHitCount();
+    }
+
+    // One expense category per row, each with a transaction, a budget and a notification
+    private User seedUser(int rows) {
+        User user = seeder.userWithBudgets(MONTH, rows, new BigDecimal("12.50"));
+        for (int i = 0; i < rows; i++) {
+            seeder.notification(user, "Notification " + i);
+        }
+        return user;
+    }
+}
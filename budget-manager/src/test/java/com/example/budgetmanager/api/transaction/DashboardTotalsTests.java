@@ -0,0 +1,97 @@
+package com.example.budgetmanager.api.transaction;
+
+import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.rollup.CategoryTotalView;
+import com.example.budgetmanager.domain.transaction.TransactionView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard sums in cents against the BigDecimal reduction they replaced.
+ */
+class DashboardTotalsTests {
+
+    @Test
+    void totalsByCategoryMatchesTheBigDecimalReduction() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<TransactionView> transactions = randomTransactions(new Random(seed));
+
+            List<CategoryTotalView> totals = TransactionService.totalsByCategory(transactions);
+
+            assertThat(totals).isEqualTo(bigDecimalTotalsByCategory(transactions));
+        }
+    }
+
+    @Test
+    void summarizeMatchesTheBigDecimalReduction() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<CategoryTotalView> totals = TransactionService.totalsByCategory(randomTransactions(new Random(seed)));
+
+            DashboardDto dashboard = TransactionService.summarize(totals, List.of());
+            DashboardDto expected = bigDecimalSummarize(totals);
+
+            assertThat(dashboard.totalIncome()).isEqualByComparingTo(expected.totalIncome());
+            assertThat(dashboard.totalExpense()).isEqualByComparingTo(expected.totalExpense());
+            assertThat(dashboard.netBalance()).isEqualByComparingTo(expected.netBalance());
+            assertThat(dashboard.spendingByCategory()).isEqualTo(expected.spendingByCategory());
+        }
+    }
+
+    // The reduction started from BigDecimal.ZERO, so these used to serialize as 0
+    @Test
+    void emptyTotalsHaveTwoDecimals() {
+        DashboardDto dashboard = TransactionService.summarize(List.of(), List.of());
+
+        assertThat(dashboard.totalIncome()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(dashboard.totalExpense()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(dashboard.netBalance()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    // Amounts as the database returns them for numeric(19, 2): always two decimals
+    private static List<TransactionView> randomTransactions(Random random) {
+        int categories = 1 + random.nextInt(40);
+        List<TransactionView> transactions = new ArrayList<>();
+        for (int i = 0, n = random.nextInt(2_000); i < n; i++) {
+            long categoryId = 1 + random.nextInt(categories);
+            CategoryType type = categoryId % 4 == 0 ? CategoryType.INCOME : CategoryType.EXPENSE;
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2);
+            transactions.add(new TransactionView((long) i, categoryId, "Category " + categoryId, type, amount, null, LocalDate.of(2026, 1, 1)));
+        }
+        return transactions;
+    }
+
+    private static List<CategoryTotalView> bigDecimalTotalsByCategory(List<TransactionView> transactions) {
+        Map<Long, CategoryTotalView> totals = new LinkedHashMap<>();
+        for (TransactionView t : transactions) {
+            totals.merge(t.categoryId(),
+                    new CategoryTotalView(t.categoryId(), t.categoryName(), t.categoryType(), t.amount(), 1),
+                    (a, b) -> new CategoryTotalView(a.categoryId(), a.categoryName(), a.categoryType(), a.total().add(b.total()), a.txCount() + 1));
+        }
+        return List.copyOf(totals.values());
+    }
+
+    private static DashboardDto bigDecimalSummarize(List<CategoryTotalView> totals) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        List<DashboardDto.CategorySpending> spendingByCategory = new ArrayList<>();
+        for (CategoryTotalView total : totals) {
+            if (total.txCount() == 0) continue;
+            if (total.categoryType() == CategoryType.INCOME) {
+                totalIncome = totalIncome.add(total.total());
+            } else {
+                totalExpense = totalExpense.add(total.total());
+                spendingByCategory.add(new DashboardDto.CategorySpending(total.categoryName(), total.total()));
+            }
+        }
+        return new DashboardDto(totalIncome, totalExpense, totalIncome.subtract(totalExpense), spendingByCategory, List.of());
+    }
+}
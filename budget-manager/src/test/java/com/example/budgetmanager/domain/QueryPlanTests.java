@@ -0,0 +1,302 @@
+package com.example.budgetmanager.domain;
+
+import com.example.budgetmanager.domain.budget.BudgetRepository;
+import com.example.budgetmanager.domain.category.Category;
+import com.example.budgetmanager.domain.category.CategoryRepository;
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.domain.rollup.MonthlyCategoryTotalRepository;
+import com.example.budgetmanager.domain.transaction.Transaction;
+import com.example.budgetmanager.domain.transaction.TransactionRepository;
+import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.service.MonthlyRollupService;
+import com.example.budgetmanager.support.PostgresTestConfiguration;
+import com.example.budgetmanager.support.TestDataSeeder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository read through EXPLAIN with sequential scans disabled against the migrated
+ * schema, seeded with enough rows for realistic statistics. A plan that still scans a whole table
+ * or index means no index can serve that query.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.budgetmanager.domain.QueryPlanTests$RecordingInspector",
+        // EXPLAIN (GENERIC_PLAN) takes $n placeholders, which only the simple query protocol passes through unbound
+        "spring.datasource.hikari.data-source-properties.preferQueryMode=simple"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresTestConfiguration.class)
+class QueryPlanTests {
+
+    private static final YearMonth MONTH = YearMonth.now();
+
+    // "Index Scan [Backward] using idx on t", "Index Only Scan using idx on t", "Bitmap Index Scan on idx"
+    private static final Pattern INDEX_NAME = Pattern.compile("(?:using|Bitmap Index Scan on) (\\S+)");
+    // Table of a heap or index scan node: "... Scan on t alias" or "... using idx on t alias"
+    private static final Pattern TABLE_NAME = Pattern.compile("(?:Seq Scan|Heap Scan|using \\S+) on (\\S+)");
+
+    // Enough other users that the planner's statistics look like production, not like a one-row table
+    private static final String BACKGROUND_DATA = """
+            INSERT INTO users (full_name, email, password_hash, created_at)
+            SELECT 'Seed ' || g, 'seed-' || g || '@example.com', 'not-a-real-hash', now()
+            FROM generate_series(1, 500) g;
+
+            INSERT INTO categories (name, type, user_id)
+            SELECT 'Seed category ' || c, CASE WHEN c = 1 THEN 'INCOME' ELSE 'EXPENSE' END, u.id
+            FROM users u, generate_series(1, 8) c
+            WHERE u.email LIKE 'seed-%';
+
+            INSERT INTO transactions (id, user_id, category_id, amount, description, transaction_date, created_at)
+            SELECT nextval('transactions_seq'), c.user_id, c.id, 10.00, 'Seeded', current_date - (g * 7 % 365), now()
+            FROM categories c, generate_series(1, 25) g
+            WHERE c.name LIKE 'Seed category %';
+
+            INSERT INTO budgets (user_id, category_id, amount, month)
+            SELECT c.user_id, c.id, 100.00, CAST(date_trunc('month', current_date) - make_interval(months => m) AS date)
+            FROM categories c, generate_series(0, 11) m
+            WHERE c.name LIKE 'Seed category %' AND c.type = 'EXPENSE';
+
+            INSERT INTO notifications (user_id, message, type, is_read, created_at)
+            SELECT u.id, 'Seeded ' || g, 'UNUSUAL_SPENDING', false, now() - make_interval(days => g)
+            FROM users u, generate_series(1, 20) g
+            WHERE u.email LIKE 'seed-%';
+
+            INSERT INTO notification_counters (user_id, unread)
+            SELECT user_id, count(*) FROM notifications WHERE NOT is_read GROUP BY user_id;
+            """;
+
+    @Autowired
+    private TestDataSeeder seeder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private MonthlyCategoryTotalRepository totalRepository;
+    @Autowired
+    private MonthlyRollupService rollupService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Category category;
+    private Transaction transaction;
+
+    @Test
+    void noRepositoryQueryNeedsASequentialScan() {
+        seed();
+        LocalDate monthStart = MONTH.atDay(1);
+        LocalDate monthEnd = MONTH.atEndOfMonth();
+        Long userId = user.getId();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail(user.getEmail()));
+        queries.put("CategoryRepository.findAllByUserId", () -> categoryRepository.findAllByUserId(userId));
+        queries.put("CategoryRepository.findByIdAndUserId", () -> categoryRepository.findByIdAndUserId(category.getId(), userId));
+        queries.put("CategoryRepository.existsByNameAndUserId", () -> categoryRepository.existsByNameAndUserId(category.getName(), userId));
+        queries.put("TransactionRepository.findByIdAndUserId", () -> transactionRepository.findByIdAndUserId(transaction.getId(), userId));
+        queries.put("TransactionRepository.findViewsForPeriod", () -> transactionRepository.findViewsForPeriod(userId, monthStart, monthEnd));
+        queries.put("TransactionRepository.sumByCategoryForPeriod", () -> transactionRepository.sumByCategoryForPeriod(userId, monthStart, monthEnd));
+        queries.put("TransactionRepository.findPage", () -> transactionRepository.findPage(userId, monthStart, monthEnd, monthEnd, Long.MAX_VALUE, Limit.of(50)));
+        queries.put("TransactionRepository.streamAll", () -> transactionRepository.streamAll(userId, monthStart, monthEnd).close());
+        queries.put("BudgetRepository.findByUserIdAndCategoryIdAndMonth", () -> budgetRepository.findByUserIdAndCategoryIdAndMonth(userId, category.getId(), monthStart));
+        queries.put("BudgetRepository.findViewsByUserIdAndMonth", () -> budgetRepository.findViewsByUserIdAndMonth(userId, monthStart));
+        queries.put("BudgetRepository.findWithSpendForPeriod", () -> budgetRepository.findWithSpendForPeriod(userId, monthStart, monthEnd));
+        queries.put("BudgetRepository.findCrossedThresholds", () -> budgetRepository.findCrossedThresholds(monthStart, userId, userId, 0L, 75, Limit.of(500)));
+        queries.put("BudgetRepository.findUserIdRangeForMonth", () -> budgetRepository.findUserIdRangeForMonth(monthStart));
+        queries.put("BudgetRepository.findSpendForBudget", () -> budgetRepository.findSpendForBudget(userId, category.getId(), monthStart));
+        queries.put("NotificationRepository.findViewsByUserId", () -> notificationRepository.findViewsByUserId(userId));
+        queries.put("NotificationRepository.findViewsByUserIdAfter", () -> notificationRepository.findViewsByUserIdAfter(userId, 0L, Limit.of(100)));
+        queries.put("NotificationRepository.findPage", () -> notificationRepository.findPage(userId, Long.MAX_VALUE, Limit.of(20)));
+        queries.put("NotificationRepository.findUnreadCount", () -> notificationRepository.findUnreadCount(userId));
+        queries.put("NotificationRepository.findThresholdKeys", () -> notificationRepository.findThresholdKeys(monthStart, userId, userId));
+        queries.put("MonthlyCategoryTotalRepository.findAllForMonth", () -> totalRepository.findAllForMonth(userId, monthStart));
+        queries.put("MonthlyCategoryTotalRepository.findAllForRange", () -> totalRepository.findAllForRange(userId, monthStart.minusYears(3), monthStart));
+
+        Map<String, String> leadingColumns = leadingIndexColumns();
+        Set<String> emptyTables = emptyTables();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            RecordingInspector.statements.clear();
+            // An answer from the second-level or query cache would leave no SQL to plan
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            transactionTemplate.executeWithoutResult(status -> query.run());
+            assertThat(RecordingInspector.statements).as(name).isNotEmpty();
+            for (String sql : RecordingInspector.statements) {
+                String plan = explain("EXPLAIN (GENERIC_PLAN) " + toPositionalParameters(sql));
+                if (!fullScans(plan, leadingColumns, emptyTables).isEmpty()) {
+                    failures.add(name + "\n" + sql + "\n" + plan);
+                }
+            }
+        });
+
+        assertThat(failures).as("queries planned with a full table or index scan").isEmpty();
+    }
+
+    /**
+     * Plan nodes that read a whole table or a whole index. With sequential scans disabled the planner
+     * falls back to walking an entire index when none matches, which shows up either as an index scan
+     * without an Index Cond or as one whose condition skips the index's leading column. Empty tables,
+     * such as next month's partition, are skipped: any plan for them is free and pruned at run time.
+     */
+    static List<String> fullScans(String plan, Map<String, String> leadingColumns, Set<String> emptyTables) {
+        List<String> found = new ArrayList<>();
+        String[] lines = plan.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String node = lines[i];
+            Matcher table = TABLE_NAME.matcher(node);
+            if (table.find() && emptyTables.contains(table.group(1))) {
+                continue;
+            }
+            if (node.contains("Seq Scan")) {
+                found.add(node.trim());
+            } else if (node.contains("Index Scan") || node.contains("Index Only Scan")) {
+                StringBuilder condition = new StringBuilder();
+                for (int j = i + 1; j < lines.length && !lines[j].contains("->"); j++) {
+                    if (lines[j].contains("Index Cond")) condition.append(lines[j]);
+                }
+                Matcher index = INDEX_NAME.matcher(node);
+                String leading = index.find() ? leadingColumns.get(index.group(1)) : null;
+                // Conditions print the column as "(col = ..." or, when cast, "((col)::text = ..."
+                boolean usesLeading = leading != null
+                        && (condition.indexOf("(" + leading + " ") >= 0 || condition.indexOf("(" + leading + ")") >= 0);
+                if (!usesLeading) {
+                    found.add(node.trim());
+                }
+            }
+        }
+        return found;
+    }
+
+    // ANALYZE leaves reltuples at 0 for tables without rows
+    private Set<String> emptyTables() {
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = current_schema() AND c.relkind = 'r' AND c.reltuples = 0
+                """, String.class));
+    }
+
+    private Map<String, String> leadingIndexColumns() {
+        Map<String, String> columns = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT c.relname, a.attname
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = current_schema()
+                """, (RowCallbackHandler) row -> columns.put(row.getString(1), row.getString(2)));
+        return columns;
+    }
+
+    @Test
+    void monthBoundedReadsPruneToOnePartition() {
+        String plan = explain("""
+                EXPLAIN SELECT t.id, t.amount FROM transactions t
+                WHERE t.user_id = 1 AND t.transaction_date BETWEEN '%s' AND '%s'
+                """.formatted(MONTH.atDay(1), MONTH.atEndOfMonth()));
+
+        Matcher scanned = Pattern.compile(" on (transactions_(?:p\\d{4}_\\d{2}|default)) ").matcher(plan);
+        List<String> partitions = new ArrayList<>();
+        while (scanned.find()) partitions.add(scanned.group(1));
+
+        assertThat(partitions).as(plan).containsOnly("transactions_p%d_%02d".formatted(MONTH.getYear(), MONTH.getMonthValue()));
+    }
+
+    // Runs an EXPLAIN statement with sequential scans disabled and returns the plan text
+    private String explain(String explainStatement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                try (ResultSet rows = statement.executeQuery(explainStatement)) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    // Generic plans (PostgreSQL 16+) let the recorded SQL be explained without binding values
+    private static String toPositionalParameters(String sql) {
+        StringBuilder positional = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++index);
+            } else {
+                positional.append(c);
+            }
+        }
+        return positional.toString();
+    }
+
+    private void seed() {
+        user = seeder.user();
+        category = seeder.expenseCategory(user, "Groceries");
+        transaction = seeder.transaction(user, category, new BigDecimal("80.00"), MONTH.atDay(1));
+        seeder.budget(user, category, new BigDecimal("100.00"), MONTH.atDay(1));
+        seeder.notification(user, "Seeded");
+
+        jdbcTemplate.execute(BACKGROUND_DATA);
+        rollupService.rebuild(null, MONTH.minusMonths(12), MONTH);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
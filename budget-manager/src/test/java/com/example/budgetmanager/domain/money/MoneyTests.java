@@ -0,0 +1,59 @@
+package com.example.budgetmanager.domain.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+    @Test
+    void convertsAmountsWithUpToTwoDecimalsExactly() {
+        assertThat(Money.cents(new BigDecimal("12.34"))).isEqualTo(1234);
+        assertThat(Money.cents(new BigDecimal("12.3"))).isEqualTo(1230);
+        assertThat(Money.cents(new BigDecimal("12"))).isEqualTo(1200);
+        assertThat(Money.cents(new BigDecimal("-0.01"))).isEqualTo(-1);
+        // Trailing zeros beyond the second decimal lose nothing
+        assertThat(Money.cents(new BigDecimal("12.3400"))).isEqualTo(1234);
+    }
+
+    @Test
+    void rejectsAmountsWithMoreThanTwoDecimals() {
+        assertThatThrownBy(() -> Money.cents(new BigDecimal("12.345"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rejectsAmountsBeyondALong() {
+        assertThatThrownBy(() -> Money.cents(new BigDecimal("1e20"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void convertsBackWithScaleTwo() {
+        assertThat(Money.toBigDecimal(1234)).isEqualTo(new BigDecimal("12.34"));
+        assertThat(Money.toBigDecimal(0)).isEqualTo(new BigDecimal("0.00"));
+        assertThat(Money.of(new BigDecimal("7.5")).toString()).isEqualTo("7.50");
+    }
+
+    @Test
+    void arithmeticFailsInsteadOfOverflowing() {
+        Money max = new Money(Long.MAX_VALUE);
+
+        assertThat(new Money(150).plus(new Money(250))).isEqualTo(new Money(400));
+        assertThat(new Money(150).minus(new Money(250))).isEqualTo(new Money(-100));
+        assertThatThrownBy(() -> max.plus(new Money(1))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void comparesPercentagesExactly() {
+        Money budget = new Money(10_000);
+
+        assertThat(new Money(7_500).isAtLeastPercentOf(75, budget)).isTrue();
+        assertThat(new Money(7_499).isAtLeastPercentOf(75, budget)).isFalse();
+        // 2 of 3 cents is 66.67%: neither rounded up to 67 nor down to 66 and then compared
+        assertThat(Money.atLeastPercent(2, 67, 3)).isFalse();
+        assertThat(Money.atLeastPercent(2, 66, 3)).isTrue();
+    }
+}
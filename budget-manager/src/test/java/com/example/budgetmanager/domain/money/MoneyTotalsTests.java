@@ -0,0 +1,110 @@
+package com.example.budgetmanager.domain.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyTotalsTests {
+
+    @Test
+    void sumsAndCountsPerKeyInFirstSeenOrder() {
+        MoneyTotals totals = new MoneyTotals();
+
+        assertThat(totals.add(7, 100)).isZero();
+        assertThat(totals.add(3, 250)).isEqualTo(1);
+        assertThat(totals.add(7, -40)).isZero();
+
+        assertThat(totals.size()).isEqualTo(2);
+        assertThat(totals.key(0)).isEqualTo(7);
+        assertThat(totals.cents(0)).isEqualTo(60);
+        assertThat(totals.count(0)).isEqualTo(2);
+        assertThat(totals.key(1)).isEqualTo(3);
+        assertThat(totals.cents(1)).isEqualTo(250);
+        assertThat(totals.count(1)).isEqualTo(1);
+    }
+
+    @Test
+    void missingKeyHasNoTotalAndIsNotAdded() {
+        MoneyTotals totals = new MoneyTotals();
+        totals.add(1, 500);
+
+        assertThat(totals.centsOf(2)).isZero();
+        assertThat(totals.contains(2)).isFalse();
+        assertThat(totals.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putSetsTheTotalWithoutCounting() {
+        MoneyTotals totals = new MoneyTotals();
+        totals.put(5, 1_000);
+        totals.put(5, 1_200);
+
+        assertThat(totals.centsOf(5)).isEqualTo(1_200);
+        assertThat(totals.count(0)).isZero();
+    }
+
+    @Test
+    void keepsEveryEntryWhenGrowingPastTheInitialCapacity() {
+        MoneyTotals totals = new MoneyTotals(4);
+        for (long key = 0; key < 1_000; key++) {
+            totals.add(key, key);
+            totals.add(key, 1);
+        }
+
+        assertThat(totals.size()).isEqualTo(1_000);
+        for (int index = 0; index < 1_000; index++) {
+            assertThat(totals.key(index)).isEqualTo(index);
+            assertThat(totals.cents(index)).isEqualTo(index + 1);
+            assertThat(totals.count(index)).isEqualTo(2);
+            assertThat(totals.centsOf(index)).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    void keepsKeysThatShareASlotApart() {
+        // The same low ten hash bits: the keys probe from the same slot in every table up to 1024 slots
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < 20; key++) {
+            if ((MoneyTotals.mix(key) & 1023) == 0) keys.add(key);
+        }
+        MoneyTotals totals = new MoneyTotals(4);
+
+        for (int i = 0; i < keys.size(); i++) totals.add(keys.get(i), i + 1);
+
+        assertThat(totals.size()).isEqualTo(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(totals.centsOf(keys.get(i))).as("key %d", keys.get(i)).isEqualTo(i + 1);
+        }
+        assertThat(totals.contains(keys.get(keys.size() - 1) + 1)).isFalse();
+    }
+
+    @Test
+    void matchesAMapOnRandomInput() {
+        Random random = new Random(20);
+        MoneyTotals totals = new MoneyTotals();
+        Map<Long, long[]> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000) * 31L - 10_000;
+            long amount = random.nextLong(-100_000, 100_000);
+            totals.add(key, amount);
+            long[] entry = expected.computeIfAbsent(key, k -> new long[2]);
+            entry[0] += amount;
+            entry[1]++;
+        }
+
+        assertThat(totals.size()).isEqualTo(expected.size());
+        int index = 0;
+        for (Map.Entry<Long, long[]> entry : expected.entrySet()) {
+            assertThat(totals.key(index)).isEqualTo(entry.getKey());
+            assertThat(totals.cents(index)).isEqualTo(entry.getValue()[0]);
+            assertThat(totals.count(index)).isEqualTo(entry.getValue()[1]);
+            index++;
+        }
+    }
+}
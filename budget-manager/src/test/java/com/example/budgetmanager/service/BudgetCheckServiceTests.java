@@ -0,0 +1,45 @@
+package com.example.budgetmanager.service;
+
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.support.PostgresTestConfiguration;
+import com.example.budgetmanager.support.TestDataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The scheduled check against a real database: every budget over a threshold gets its notification.
+ */
+@SpringBootTest(properties = "application.budget-check.shards=1")
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresTestConfiguration.class)
+class BudgetCheckServiceTests {
+
+    private static final YearMonth MONTH = YearMonth.now();
+
+    @Autowired
+    private BudgetCheckService budgetCheckService;
+    @Autowired
+    private TestDataSeeder seeder;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void everyFreshCrossingInAShardIsNotified() {
+        int budgets = 50;
+        // Seeded through the repositories, so only the scheduled check sees the crossings
+        User user = seeder.userWithBudgets(MONTH, budgets, new BigDecimal("95.00"));
+
+        budgetCheckService.checkBudgetsAndCreateNotifications();
+
+        assertThat(notificationRepository.findThresholdKeys(MONTH.atDay(1), user.getId(), user.getId())).hasSize(budgets);
+    }
+}
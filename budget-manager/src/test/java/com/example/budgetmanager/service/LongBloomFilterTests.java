@@ -0,0 +1,54 @@
+package com.example.budgetmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBloomFilterTests {
+
+    private static final int KEYS = 10_000;
+    private static final int PROBES = 100_000;
+
+    @Test
+    void containsEveryKeyPut() {
+        LongBloomFilter filter = new LongBloomFilter(KEYS, 0.001, 42);
+        for (long key = 0; key < KEYS; key++) filter.put(key);
+
+        for (long key = 0; key < KEYS; key++) {
+            assertThat(filter.mightContain(key)).as("key %d", key).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateHoldsAtSizedCapacity() {
+        LongBloomFilter filter = new LongBloomFilter(KEYS, 0.001, 42);
+        for (long key = 0; key < KEYS; key++) filter.put(key);
+
+        assertThat(falsePositiveRate(filter)).isLessThan(0.002);
+    }
+
+    @Test
+    void falsePositiveRateClimbsWhenUnderSized() {
+        LongBloomFilter filter = new LongBloomFilter(KEYS / 10, 0.001, 42);
+        for (long key = 0; key < KEYS; key++) filter.put(key);
+
+        assertThat(falsePositiveRate(filter)).isGreaterThan(0.5);
+    }
+
+    @Test
+    void filterForOneKeySaturatesAfterAFewMore() {
+        LongBloomFilter filter = new LongBloomFilter(1, 0.001, 42);
+        for (long key = 0; key < 5; key++) filter.put(key);
+
+        assertThat(falsePositiveRate(filter)).isGreaterThan(0.5);
+    }
+
+    // Share of keys never put that the filter claims to contain
+    private static double falsePositiveRate(LongBloomFilter filter) {
+        int positives = 0;
+        for (long key = 1_000_000; key < 1_000_000 + PROBES; key++) {
+            if (filter.mightContain(key)) positives++;
+        }
+        return (double) positives / PROBES;
+    }
+}
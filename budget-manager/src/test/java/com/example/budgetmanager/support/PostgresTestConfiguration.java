@@ -0,0 +1,23 @@
+package com.example.budgetmanager.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The PostgreSQL container and the test data seeder for tests against a real database.
+ * The container lives as long as the application context, so cached contexts keep a running database.
+ * Import it next to {@code @Testcontainers(disabledWithoutDocker = true)} so the tests skip without Docker.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import(TestDataSeeder.class)
+public class PostgresTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
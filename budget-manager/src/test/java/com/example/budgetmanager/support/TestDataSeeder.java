@@ -0,0 +1,104 @@
+package com.example.budgetmanager.support;
+
+import com.example.budgetmanager.domain.budget.Budget;
+import com.example.budgetmanager.domain.budget.BudgetRepository;
+import com.example.budgetmanager.domain.category.Category;
+import com.example.budgetmanager.domain.category.CategoryRepository;
+import com.example.budgetmanager.domain.category.CategoryType;
+import com.example.budgetmanager.domain.notification.Notification;
+import com.example.budgetmanager.domain.notification.NotificationRepository;
+import com.example.budgetmanager.domain.notification.NotificationType;
+import com.example.budgetmanager.domain.transaction.Transaction;
+import com.example.budgetmanager.domain.transaction.TransactionRepository;
+import com.example.budgetmanager.domain.user.User;
+import com.example.budgetmanager.domain.user.UserRepository;
+import com.example.budgetmanager.service.MonthlyRollupService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Writes test data through the repositories, so no service reacts to it: budget evaluation only
+ * sees it when a test runs a check, and the rollup only when it is rebuilt.
+ */
+public class TestDataSeeder {
+
+    private static final BigDecimal BUDGET = new BigDecimal("100.00");
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final NotificationRepository notificationRepository;
+    private final MonthlyRollupService rollupService;
+
+    public TestDataSeeder(UserRepository userRepository, CategoryRepository categoryRepository, TransactionRepository transactionRepository,
+                          BudgetRepository budgetRepository, NotificationRepository notificationRepository, MonthlyRollupService rollupService) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.notificationRepository = notificationRepository;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * A new user with one expense category per row, each with a transaction of {@code spent} on the
+     * first of the month and a budget of 100.00, and the month's rollup rebuilt.
+     */
+    public User userWithBudgets(YearMonth month, int rows, BigDecimal spent) {
+        User user = user();
+        for (int i = 0; i < rows; i++) {
+            Category category = expenseCategory(user, "Category " + i);
+            transaction(user, category, spent, month.atDay(1));
+            budget(user, category, BUDGET, month.atDay(1));
+        }
+        rollupService.rebuild(user.getId(), month, month);
+        return user;
+    }
+
+    public User user() {
+        User user = new User();
+        user.setFullName("Test User");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("not-a-real-hash");
+        return userRepository.save(user);
+    }
+
+    public Category expenseCategory(User user, String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setType(CategoryType.EXPENSE);
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    public Transaction transaction(User user, Category category, BigDecimal amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setAmount(amount);
+        transaction.setTransactionDate(date);
+        return transactionRepository.save(transaction);
+    }
+
+    public Budget budget(User user, Category category, BigDecimal amount, LocalDate month) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setAmount(amount);
+        budget.setMonth(month);
+        return budgetRepository.save(budget);
+    }
+
+    // Saved as an entity: the unread counter is left alone
+    public Notification notification(User user, String message) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage(message);
+        notification.setType(NotificationType.UNUSUAL_SPENDING);
+        return notificationRepository.save(notification);
+    }
+}
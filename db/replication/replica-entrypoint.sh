@@ -0,0 +1,12 @@
+#!/bin/sh
+# Clones the primary on first start, then runs as a hot standby that streams from it.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup -h db -U replicator -D "$PGDATA" -R -X stream; do
+    echo "Waiting for the primary to accept replication connections..."
+    rm -rf "$PGDATA"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres -c hot_standby=on